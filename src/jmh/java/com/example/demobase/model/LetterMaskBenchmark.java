@@ -0,0 +1,56 @@
+package com.example.demobase.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversiones de las letras intentadas: desde la columna de games_in_progress ("A,B,C"), hacia
+ * la columna y hacia la lista de la respuesta, por cantidad de letras intentadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LetterMaskBenchmark {
+
+    @Param({"3", "8", "15", "27"})
+    public int intentos;
+
+    private String columna;
+    private int letrasIntentadas;
+
+    @Setup
+    public void setUp() {
+        letrasIntentadas = LetterMask.of(WordIndexBenchmark.POR_FRECUENCIA.substring(0, intentos));
+        columna = LetterMask.format(letrasIntentadas);
+    }
+
+    @Benchmark
+    public int parse() {
+        return LetterMask.of(columna);
+    }
+
+    @Benchmark
+    public String format() {
+        return LetterMask.format(letrasIntentadas);
+    }
+
+    @Benchmark
+    public List<Character> toList() {
+        return LetterMask.toList(letrasIntentadas);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demobase.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lógica de una partida sobre WordIndex, por largo de palabra y cantidad de letras intentadas:
+ * armar el índice al cargar la palabra, la palabra oculta, una partida completa y el puntaje.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordIndexBenchmark {
+
+    // Letras en orden de frecuencia en español, como las probaría un jugador
+    static final String POR_FRECUENCIA = "EAOSRNIDLCTUMPBGVYQHFZJÑXKW";
+
+    @Param({"5", "10", "20"})
+    public int largo;
+
+    @Param({"3", "8", "15"})
+    public int intentos;
+
+    private String palabra;
+    private Word word;
+    private WordIndex indice;
+    private char[] letras;
+    private int letrasIntentadas;
+    private GameInProgress perdida;
+
+    @Setup
+    public void setUp() {
+        palabra = word(largo, 42);
+        word = new Word(null, palabra);
+        indice = word.getIndice();
+        letras = POR_FRECUENCIA.substring(0, intentos).toCharArray();
+        letrasIntentadas = LetterMask.of(POR_FRECUENCIA.substring(0, intentos));
+        perdida = game(letrasIntentadas, 0);
+    }
+
+    @Benchmark
+    public WordIndex index() {
+        return WordIndex.of(palabra);
+    }
+
+    // La palabra oculta completa, como al cargar una partida en memoria
+    @Benchmark
+    public char[] render() {
+        return indice.render(letrasIntentadas);
+    }
+
+    // Las jugadas de GameService: GameRules aplica cada letra sobre la partida en memoria,
+    // hasta que la partida termina
+    @Benchmark
+    public int play(Blackhole blackhole) {
+        GameInProgress partida = game(LetterMask.VACIO, GameRules.MAX_INTENTOS);
+        for (char letra : letras) {
+            if (GameRules.isFinished(partida)) {
+                break;
+            }
+            blackhole.consume(GameRules.guess(partida, letra));
+        }
+        blackhole.consume(partida.getPalabraOculta());
+        return GameRules.score(partida);
+    }
+
+    // Puntaje de una partida perdida: cuenta las letras correctas
+    @Benchmark
+    public int score() {
+        return GameRules.score(perdida);
+    }
+
+    private GameInProgress game(int intentadas, int restantes) {
+        GameInProgress partida = new GameInProgress();
+        partida.setPalabra(word);
+        partida.setLetrasIntentadas(intentadas);
+        partida.setIntentosRestantes(restantes);
+        return partida;
+    }
+
+    // Palabra al azar pero siempre la misma para un largo y una semilla
+    static String word(int largo, long semilla) {
+        Random random = new Random(semilla);
+        char[] palabra = new char[largo];
+        for (int i = 0; i < largo; i++) {
+            palabra[i] = LetterMask.ALFABETO.charAt(random.nextInt(LetterMask.ALFABETO.length()));
+        }
+        return new String(palabra);
+    }
+}
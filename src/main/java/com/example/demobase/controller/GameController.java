@@ -2,14 +2,26 @@ package com.example.demobase.controller;
 
 import com.example.demobase.dto.GameDTO;
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GuessBatchRequestDTO;
+import com.example.demobase.dto.GuessBatchResponseDTO;
+import com.example.demobase.dto.PageDTO;
+import com.example.demobase.model.Dificultad;
+import com.example.demobase.service.GameExporter;
+import com.example.demobase.service.GameMetrics;
 import com.example.demobase.service.GameService;
+import com.example.demobase.service.Keyset;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -19,11 +31,16 @@ import java.util.Map;
 public class GameController {
     
     private final GameService gameService;
+    private final GameExporter gameExporter;
+    private final GameMetrics gameMetrics;
     
     @PostMapping("/start/{playerId}")
-    @Operation(summary = "Iniciar nueva partida")
-    public ResponseEntity<GameResponseDTO> startGame(@PathVariable Long playerId) {
-        return ResponseEntity.ok(gameService.startGame(playerId));
+    @Operation(summary = "Iniciar nueva partida, opcionalmente con una palabra de cierta dificultad y largo")
+    public ResponseEntity<GameResponseDTO> startGame(
+            @PathVariable Long playerId,
+            @RequestParam(required = false) Dificultad dificultad,
+            @RequestParam(required = false) Integer largo) {
+        return ResponseEntity.ok(gameMetrics.timeStart(() -> gameService.startGame(playerId, dificultad, largo)));
     }
     
     @PostMapping("/guess")
@@ -32,20 +49,60 @@ public class GameController {
         Long playerId = Long.valueOf(request.get("idJugador").toString());
         Character letra = request.get("letra").toString().charAt(0);
         
-        GameResponseDTO result = gameService.makeGuess(playerId, letra);
+        GameResponseDTO result = gameMetrics.timeGuess(() -> gameService.makeGuess(playerId, letra));
         return ResponseEntity.ok(result);
     }
     
+    @PostMapping("/guess/batch")
+    @Operation(summary = "Realizar varios intentos en orden dentro de una sola transacción")
+    public ResponseEntity<GuessBatchResponseDTO> makeGuesses(@RequestBody GuessBatchRequestDTO request) {
+        return ResponseEntity.ok(gameMetrics.timeGuesses(() ->
+                gameService.makeGuesses(request.getIdJugador(), request.getIdPartida(), request.getLetras())));
+    }
+    
+    @PostMapping("/{gameId}/guess")
+    @Operation(summary = "Realizar un intento de adivinar letra en una partida específica")
+    public ResponseEntity<GameResponseDTO> makeGuessByGame(@PathVariable Long gameId, @RequestBody Map<String, Object> request) {
+        Character letra = request.get("letra").toString().charAt(0);
+        return ResponseEntity.ok(gameMetrics.timeGuess(() -> gameService.makeGuessByGame(gameId, letra)));
+    }
+    
+    @GetMapping(value = "/{playerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Recibir por SSE el estado de la partida en curso de un jugador cada vez que cambia")
+    public SseEmitter subscribe(@PathVariable Long playerId) {
+        return gameService.subscribe(playerId);
+    }
+    
     @GetMapping
-    @Operation(summary = "Obtener todas las partidas")
-    public ResponseEntity<List<GameDTO>> getAllGames() {
-        return ResponseEntity.ok(gameService.getAllGames());
+    @Operation(summary = "Obtener las partidas por páginas, ordenadas por id")
+    public ResponseEntity<PageDTO<GameDTO>> getAllGames(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + Keyset.LIMITE_POR_DEFECTO) int limit) {
+        return ResponseEntity.ok(gameService.getAllGames(after, limit));
     }
     
     @GetMapping("/player/{playerId}")
-    @Operation(summary = "Obtener partidas de un jugador")
-    public ResponseEntity<List<GameDTO>> getGamesByPlayer(@PathVariable Long playerId) {
-        return ResponseEntity.ok(gameService.getGamesByPlayer(playerId));
+    @Operation(summary = "Obtener partidas de un jugador por páginas, de la más reciente a la más vieja")
+    public ResponseEntity<PageDTO<GameDTO>> getGamesByPlayer(
+            @PathVariable Long playerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + Keyset.LIMITE_POR_DEFECTO) int limit) {
+        return ResponseEntity.ok(gameService.getGamesByPlayer(playerId, after, limit));
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Descargar el historial de partidas en NDJSON o CSV, filtrado por jugador y fechas")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestParam(required = false) Long playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        // El formato se valida antes de empezar a escribir la respuesta
+        GameExporter.Formato tipo = GameExporter.Formato.parse(formato);
+        StreamingResponseBody body = salida -> gameExporter.export(playerId, desde, hasta, tipo, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(tipo.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"partidas." + tipo.getExtension() + "\"")
+                .body(body);
     }
 }
-
@@ -1,6 +1,8 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.PlayerDTO;
+import com.example.demobase.service.Keyset;
 import com.example.demobase.service.PlayerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/players")
 @RequiredArgsConstructor
@@ -20,9 +20,11 @@ public class PlayerController {
     private final PlayerService playerService;
     
     @GetMapping
-    @Operation(summary = "Obtener todos los jugadores")
-    public ResponseEntity<List<PlayerDTO>> getAllPlayers() {
-        return ResponseEntity.ok(playerService.getAllPlayers());
+    @Operation(summary = "Obtener los jugadores por páginas, ordenados por id")
+    public ResponseEntity<PageDTO<PlayerDTO>> getAllPlayers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + Keyset.LIMITE_POR_DEFECTO) int limit) {
+        return ResponseEntity.ok(playerService.getAllPlayers(after, limit));
     }
     
     @GetMapping("/{id}")
@@ -0,0 +1,69 @@
+package com.example.demobase.controller;
+
+import com.example.demobase.service.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Mide las sentencias SQL, filas y entidades de cada petición HTTP (ver QueryStats). Los valores
+ * se publican por método y ruta como sql.statements, sql.rows y sql.entities, y las peticiones que
+ * pasan de game.sql.warn-statements sentencias quedan en el log como advertencia.
+ */
+@Slf4j
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    // Opcional: los tests de controladores (@WebMvcTest) no tienen registro de métricas
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long sentenciasAviso;
+
+    public QueryStatsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${game.sql.warn-statements:20}") long sentenciasAviso) {
+        this.meterRegistry = meterRegistry;
+        this.sentenciasAviso = sentenciasAviso;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats.Medicion medicion = QueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            medicion.close();
+            // La ruta con variables ({playerId}) y no la URL, para no crear una serie por id
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String ruta = patron != null ? patron.toString() : "UNKNOWN";
+            record("sql.statements", "Sentencias SQL por petición", request.getMethod(), ruta, medicion.getSentencias());
+            record("sql.rows", "Filas devueltas por consultas por petición", request.getMethod(), ruta, medicion.getFilas());
+            record("sql.entities", "Entidades cargadas desde la base por petición", request.getMethod(), ruta, medicion.getEntidades());
+
+            if (medicion.getSentencias() > sentenciasAviso) {
+                log.warn("{} {}: {}", request.getMethod(), request.getRequestURI(), medicion);
+            } else {
+                log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), medicion);
+            }
+        }
+    }
+
+    private void record(String nombre, String descripcion, String metodo, String ruta, long valor) {
+        meterRegistry.ifAvailable(registry -> DistributionSummary.builder(nombre)
+                .description(descripcion)
+                .tag("method", metodo)
+                .tag("uri", ruta)
+                .register(registry)
+                .record(valor));
+    }
+}
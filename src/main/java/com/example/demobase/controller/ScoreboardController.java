@@ -1,13 +1,16 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.RankingDTO;
 import com.example.demobase.dto.ScoreboardDTO;
 import com.example.demobase.service.ScoreboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,8 +23,37 @@ public class ScoreboardController {
     
     @GetMapping
     @Operation(summary = "Obtener grilla de puntajes de todos los jugadores")
-    public ResponseEntity<List<ScoreboardDTO>> getScoreboard() {
-        return ResponseEntity.ok(scoreboardService.getScoreboard());
+    public ResponseEntity<List<ScoreboardDTO>> getScoreboard(
+            @RequestParam(defaultValue = "" + ScoreboardService.LIMITE_POR_DEFECTO) int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        return ResponseEntity.ok(scoreboardService.getScoreboard(limit, offset));
+    }
+    
+    @GetMapping("/daily")
+    @Operation(summary = "Obtener grilla de puntajes de un día (por defecto hoy)")
+    public ResponseEntity<List<ScoreboardDTO>> getDailyScoreboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestParam(defaultValue = "" + ScoreboardService.LIMITE_POR_DEFECTO) int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        return ResponseEntity.ok(scoreboardService.getDailyScoreboard(fecha, limit, offset));
+    }
+    
+    @GetMapping("/weekly")
+    @Operation(summary = "Obtener grilla de puntajes de la semana (lunes a domingo) que contiene la fecha")
+    public ResponseEntity<List<ScoreboardDTO>> getWeeklyScoreboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestParam(defaultValue = "" + ScoreboardService.LIMITE_POR_DEFECTO) int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        return ResponseEntity.ok(scoreboardService.getWeeklyScoreboard(fecha, limit, offset));
+    }
+    
+    @GetMapping("/monthly")
+    @Operation(summary = "Obtener grilla de puntajes del mes que contiene la fecha")
+    public ResponseEntity<List<ScoreboardDTO>> getMonthlyScoreboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestParam(defaultValue = "" + ScoreboardService.LIMITE_POR_DEFECTO) int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        return ResponseEntity.ok(scoreboardService.getMonthlyScoreboard(fecha, limit, offset));
     }
     
     @GetMapping("/player/{playerId}")
@@ -29,5 +61,25 @@ public class ScoreboardController {
     public ResponseEntity<ScoreboardDTO> getScoreboardByPlayer(@PathVariable Long playerId) {
         return ResponseEntity.ok(scoreboardService.getScoreboardByPlayer(playerId));
     }
+    
+    @GetMapping("/ranking/{playerId}")
+    @Operation(summary = "Obtener la posición de un jugador en el ranking")
+    public ResponseEntity<RankingDTO> getRanking(@PathVariable Long playerId) {
+        return ResponseEntity.ok(scoreboardService.getRanking(playerId));
+    }
+    
+    @GetMapping("/top")
+    @Operation(summary = "Obtener los K jugadores con más puntos")
+    public ResponseEntity<List<RankingDTO>> getTop(
+            @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(scoreboardService.getTop(k));
+    }
+    
+    @GetMapping("/around/{playerId}")
+    @Operation(summary = "Obtener los N jugadores por encima y por debajo de un jugador")
+    public ResponseEntity<List<RankingDTO>> getAround(
+            @PathVariable Long playerId,
+            @RequestParam(defaultValue = "" + ScoreboardService.VECINOS_POR_DEFECTO) int n) {
+        return ResponseEntity.ok(scoreboardService.getAround(playerId, n));
+    }
 }
-
@@ -1,16 +1,25 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.WordDTO;
+import com.example.demobase.dto.WordImportDTO;
+import com.example.demobase.model.Dificultad;
+import com.example.demobase.service.Keyset;
 import com.example.demobase.service.WordService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/words")
@@ -21,9 +30,29 @@ public class WordController {
     private final WordService wordService;
     
     @GetMapping
-    @Operation(summary = "Obtener lista de todas las palabras con su estado de uso")
-    public ResponseEntity<List<WordDTO>> getAllWords() {
-        return ResponseEntity.ok(wordService.getAllWords());
+    @Operation(summary = "Obtener las palabras por páginas, ordenadas por id")
+    public ResponseEntity<PageDTO<WordDTO>> getAllWords(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + Keyset.LIMITE_POR_DEFECTO) int limit) {
+        return ResponseEntity.ok(wordService.getAllWords(after, limit));
+    }
+    
+    @GetMapping("/available")
+    @Operation(summary = "Cantidad de palabras disponibles por dificultad y largo")
+    public ResponseEntity<Map<Dificultad, Map<Integer, Integer>>> getAvailableWords() {
+        return ResponseEntity.ok(wordService.getAvailableWords());
+    }
+    
+    @PostMapping("/reload")
+    @Operation(summary = "Recargar el mazo de palabras disponibles (por ejemplo después de agregar palabras)")
+    public ResponseEntity<Map<String, Integer>> reloadWordPool() {
+        return ResponseEntity.ok(Map.of("disponibles", wordService.reloadWordPool()));
+    }
+    
+    // El cuerpo se lee como stream, sin cargar el archivo completo en memoria
+    @PostMapping(value = "/import", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Importar un diccionario de texto plano (una palabra por línea)")
+    public ResponseEntity<WordImportDTO> importWords(InputStream diccionario) throws IOException {
+        return ResponseEntity.ok(wordService.importWords(diccionario));
     }
 }
-
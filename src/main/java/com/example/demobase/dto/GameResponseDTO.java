@@ -10,6 +10,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class GameResponseDTO {
+    private Long idPartida;
     private String palabraOculta;
     private List<Character> letrasIntentadas;
     private Integer intentosRestantes;
@@ -0,0 +1,16 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuessBatchRequestDTO {
+    private Long idJugador;
+    private Long idPartida; // Opcional: si no se indica se usa la partida más reciente del jugador
+    private List<Character> letras;
+}
@@ -0,0 +1,15 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuessBatchResponseDTO {
+    private List<GuessResultDTO> resultados;
+    private GameResponseDTO estado;
+}
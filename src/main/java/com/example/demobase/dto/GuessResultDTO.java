@@ -0,0 +1,13 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuessResultDTO {
+    private Character letra;
+    private String resultado; // "CORRECTA", "INCORRECTA", "REPETIDA" u "OMITIDA" (la partida ya había terminado)
+}
@@ -0,0 +1,16 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+    private List<T> elementos;
+    // Valor de "after" para pedir la página siguiente; null si no hay más
+    private String siguiente;
+}
@@ -0,0 +1,16 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WordImportDTO {
+    private Long leidas;
+    private Long insertadas;
+    private Long repetidas;
+    private Long descartadas;
+    private Long milisegundos;
+}
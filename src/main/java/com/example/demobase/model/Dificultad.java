@@ -0,0 +1,11 @@
+package com.example.demobase.model;
+
+/**
+ * Nivel de dificultad de una palabra. Se asigna por tercios del puntaje de las palabras
+ * disponibles, así cada nivel tiene aproximadamente la misma cantidad de palabras.
+ */
+public enum Dificultad {
+    FACIL,
+    MEDIA,
+    DIFICIL
+}
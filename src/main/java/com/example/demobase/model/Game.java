@@ -8,14 +8,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = @Index(name = "idx_games_jugador_fecha", columnList = "id_jugador, fecha_partida, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Game {
     
+    // Secuencia con bloques de 50 ids (en MySQL Hibernate la emula con una tabla): a diferencia
+    // de IDENTITY permite agrupar los inserts en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,7 +3,9 @@ package com.example.demobase.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -14,8 +16,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class GameInProgress {
     
+    // Secuencia con bloques de 50 ids (en MySQL Hibernate la emula con una tabla): a diferencia
+    // de IDENTITY permite agrupar los inserts en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_in_progress_seq")
+    @SequenceGenerator(name = "games_in_progress_seq", sequenceName = "games_in_progress_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,13 +31,24 @@ public class GameInProgress {
     @JoinColumn(name = "id_palabra", nullable = false)
     private Word palabra;
     
+    @Convert(converter = LetterMaskConverter.class)
     @Column(nullable = false, length = 1000)
-    private String letrasIntentadas; // Almacenadas como String separado por comas: "A,B,C"
+    private int letrasIntentadas; // Máscara de bits (ver LetterMask); en la columna se guarda como "A,B,C"
     
     @Column(nullable = false)
     private Integer intentosRestantes;
     
     @Column(nullable = false)
     private LocalDateTime fechaInicio;
+    
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
+    // Palabra oculta en memoria; se actualiza solo en las posiciones de cada letra acertada
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private char[] palabraOculta;
 }
 
@@ -0,0 +1,70 @@
+package com.example.demobase.model;
+
+/**
+ * Reglas de una partida sobre su estado en memoria: aplicar una letra, saber si terminó, la
+ * palabra oculta y el puntaje. Las usan GameService y WordIndexBenchmark, así el benchmark mide
+ * el mismo código que atiende las jugadas.
+ */
+public final class GameRules {
+
+    public static final int MAX_INTENTOS = 7;
+    private static final int PUNTOS_PALABRA_COMPLETA = 20;
+    private static final int PUNTOS_POR_LETRA = 1;
+
+    public static final String LETRA_CORRECTA = "CORRECTA";
+    public static final String LETRA_INCORRECTA = "INCORRECTA";
+    public static final String LETRA_REPETIDA = "REPETIDA";
+
+    private GameRules() {
+    }
+
+    // Aplica una letra ya en mayúscula sobre la partida y devuelve el resultado del intento
+    public static String guess(GameInProgress partida, char letra) {
+        int letrasIntentadas = partida.getLetrasIntentadas();
+        if (LetterMask.contains(letrasIntentadas, letra)) {
+            return LETRA_REPETIDA;
+        }
+
+        // Palabra oculta actual (antes de agregar la nueva letra)
+        WordIndex indice = partida.getPalabra().getIndice();
+        char[] palabraOculta = hiddenWord(partida);
+        partida.setLetrasIntentadas(LetterMask.add(letrasIntentadas, letra));
+
+        // Si es correcta se descubren solo sus posiciones; si es incorrecta se descuenta un intento
+        if (indice.contains(letra)) {
+            indice.reveal(palabraOculta, letra);
+            return LETRA_CORRECTA;
+        }
+        partida.setIntentosRestantes(partida.getIntentosRestantes() - 1);
+        return LETRA_INCORRECTA;
+    }
+
+    public static boolean isWordComplete(GameInProgress partida) {
+        return partida.getPalabra().getIndice().isComplete(partida.getLetrasIntentadas());
+    }
+
+    public static boolean isFinished(GameInProgress partida) {
+        return isWordComplete(partida) || partida.getIntentosRestantes() == 0;
+    }
+
+    // Palabra completa: puntaje fijo; sin intentos: un punto por letra correcta encontrada
+    public static int score(GameInProgress partida) {
+        if (isWordComplete(partida)) {
+            return PUNTOS_PALABRA_COMPLETA;
+        } else if (partida.getIntentosRestantes() == 0) {
+            return partida.getPalabra().getIndice().countCorrect(partida.getLetrasIntentadas()) * PUNTOS_POR_LETRA;
+        }
+        return 0;
+    }
+
+    // La palabra oculta se arma completa una sola vez por partida en memoria; después solo se
+    // descubren las posiciones de cada letra acertada
+    public static char[] hiddenWord(GameInProgress partida) {
+        char[] palabraOculta = partida.getPalabraOculta();
+        if (palabraOculta == null) {
+            palabraOculta = partida.getPalabra().getIndice().render(partida.getLetrasIntentadas());
+            partida.setPalabraOculta(palabraOculta);
+        }
+        return palabraOculta;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demobase.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conjunto de letras del alfabeto español (A-Z más Ñ) representado como bits de un int.
+ * El bit i corresponde a la letra ALFABETO.charAt(i).
+ */
+public final class LetterMask {
+
+    public static final String ALFABETO = "ABCDEFGHIJKLMNÑOPQRSTUVWXYZ";
+    public static final int VACIO = 0;
+
+    private static final int INDICE_N_TILDE = 14;
+
+    private LetterMask() {
+    }
+
+    // Posición de la letra en el alfabeto, o -1 si no es una letra adivinable
+    public static int indexOf(char c) {
+        char upper = Character.toUpperCase(c);
+        if (upper >= 'A' && upper <= 'N') {
+            return upper - 'A';
+        }
+        if (upper >= 'O' && upper <= 'Z') {
+            return upper - 'A' + 1;
+        }
+        if (upper == 'Ñ') {
+            return INDICE_N_TILDE;
+        }
+        return -1;
+    }
+
+    public static boolean isLetter(char c) {
+        return indexOf(c) >= 0;
+    }
+
+    public static int bit(char c) {
+        int index = indexOf(c);
+        return index < 0 ? 0 : 1 << index;
+    }
+
+    public static boolean contains(int mask, char c) {
+        int bit = bit(c);
+        return bit != 0 && (mask & bit) != 0;
+    }
+
+    public static int add(int mask, char c) {
+        return mask | bit(c);
+    }
+
+    public static int size(int mask) {
+        return Integer.bitCount(mask);
+    }
+
+    // Máscara con todas las letras del texto; ignora separadores y caracteres que no son letras
+    public static int of(String texto) {
+        int mask = VACIO;
+        if (texto != null) {
+            for (int i = 0; i < texto.length(); i++) {
+                mask |= bit(texto.charAt(i));
+            }
+        }
+        return mask;
+    }
+
+    // Letras de la máscara en orden alfabético
+    public static List<Character> toList(int mask) {
+        List<Character> letras = new ArrayList<>(Integer.bitCount(mask));
+        int restantes = mask;
+        while (restantes != 0) {
+            int index = Integer.numberOfTrailingZeros(restantes);
+            letras.add(ALFABETO.charAt(index));
+            restantes &= restantes - 1;
+        }
+        return letras;
+    }
+
+    // Formato de columna: letras separadas por comas, por ejemplo "A,B,C"
+    public static String format(int mask) {
+        if (mask == VACIO) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(Integer.bitCount(mask) * 2);
+        int restantes = mask;
+        while (restantes != 0) {
+            int index = Integer.numberOfTrailingZeros(restantes);
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(ALFABETO.charAt(index));
+            restantes &= restantes - 1;
+        }
+        return sb.toString();
+    }
+}
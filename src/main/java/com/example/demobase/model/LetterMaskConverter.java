@@ -0,0 +1,22 @@
+package com.example.demobase.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persiste la máscara de letras con el mismo formato de columna de siempre ("A,B,C"),
+ * de modo que las filas existentes de games_in_progress siguen siendo válidas.
+ */
+@Converter
+public class LetterMaskConverter implements AttributeConverter<Integer, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Integer mask) {
+        return LetterMask.format(mask == null ? LetterMask.VACIO : mask);
+    }
+
+    @Override
+    public Integer convertToEntityAttribute(String letras) {
+        return LetterMask.of(letras);
+    }
+}
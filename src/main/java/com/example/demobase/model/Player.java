@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
+// En la caché de segundo nivel: se busca al empezar cada partida y solo cambia al editarlo
 @Entity
 @Table(name = "players")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "players")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
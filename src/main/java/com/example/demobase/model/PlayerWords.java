@@ -0,0 +1,29 @@
+package com.example.demobase.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.BitSet;
+
+@Entity
+@Table(name = "player_words")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerWords {
+    
+    @Id
+    @Column(name = "id_jugador")
+    private Long idJugador;
+    
+    // Ids de las palabras que el jugador ya jugó. Se reemplaza por un conjunto nuevo en cada cambio
+    // (no se modifica el que está cargado) para que Hibernate detecte la diferencia
+    @Convert(converter = WordBitSetConverter.class)
+    @Column(nullable = false, length = 1048576)
+    private BitSet palabras;
+    
+    @Version
+    private Long version;
+}
@@ -1,15 +1,22 @@
 package com.example.demobase.model;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// En la caché de segundo nivel: cada partida la carga por id y el texto casi nunca cambia
 @Entity
 @Table(name = "words")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "words")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Word {
     
     @Id
@@ -19,7 +26,34 @@ public class Word {
     @Column(nullable = false, unique = true)
     private String palabra;
     
-    @Column(nullable = false)
-    private Boolean utilizada = false;
+    // Con valor por defecto para que las filas ya existentes arranquen en la versión 0
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
+    // Índice de letras y posiciones, se construye la primera vez que se necesita
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile WordIndex indice;
+    
+    public Word(Long id, String palabra) {
+        this.id = id;
+        this.palabra = palabra;
+    }
+    
+    public void setPalabra(String palabra) {
+        this.palabra = palabra;
+        this.indice = null;
+    }
+    
+    public WordIndex getIndice() {
+        WordIndex actual = indice;
+        if (actual == null) {
+            actual = WordIndex.of(palabra);
+            indice = actual;
+        }
+        return actual;
+    }
 }
-
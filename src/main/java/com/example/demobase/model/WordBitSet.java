@@ -0,0 +1,93 @@
+package com.example.demobase.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * Formato compacto de un conjunto de ids de palabras. Se guarda como mapa de bits cuando el
+ * conjunto es denso y como lista de saltos entre ids consecutivos (varint) cuando es disperso,
+ * lo que ocupe menos: unos pocos ids altos ocupan unos bytes en lugar de un id / 8.
+ * El primer byte indica el formato.
+ */
+public final class WordBitSet {
+
+    private static final byte MAPA_DE_BITS = 0;
+    private static final byte SALTOS = 1;
+
+    private WordBitSet() {
+    }
+
+    public static byte[] encode(BitSet ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new byte[]{SALTOS};
+        }
+        long bytesMapa = (ids.length() + 7L) / 8;
+        long bytesSaltos = 0;
+        int anterior = 0;
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            bytesSaltos += varintSize(id - anterior);
+            anterior = id;
+        }
+
+        if (bytesMapa <= bytesSaltos) {
+            byte[] mapa = ids.toByteArray();
+            byte[] resultado = new byte[mapa.length + 1];
+            resultado[0] = MAPA_DE_BITS;
+            System.arraycopy(mapa, 0, resultado, 1, mapa.length);
+            return resultado;
+        }
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream((int) bytesSaltos + 1);
+        salida.write(SALTOS);
+        anterior = 0;
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            int salto = id - anterior;
+            while ((salto & ~0x7F) != 0) {
+                salida.write((salto & 0x7F) | 0x80);
+                salto >>>= 7;
+            }
+            salida.write(salto);
+            anterior = id;
+        }
+        return salida.toByteArray();
+    }
+
+    public static BitSet decode(byte[] datos) {
+        if (datos == null || datos.length == 0) {
+            return new BitSet();
+        }
+        if (datos[0] == MAPA_DE_BITS) {
+            return BitSet.valueOf(ByteBuffer.wrap(datos, 1, datos.length - 1));
+        }
+        if (datos[0] != SALTOS) {
+            throw new IllegalArgumentException("Formato de palabras jugadas desconocido: " + datos[0]);
+        }
+
+        BitSet ids = new BitSet();
+        int id = 0;
+        int i = 1;
+        while (i < datos.length) {
+            int salto = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos[i++];
+                salto |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while ((b & 0x80) != 0);
+            id += salto;
+            ids.set(id);
+        }
+        return ids;
+    }
+
+    private static int varintSize(int valor) {
+        int bytes = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+}
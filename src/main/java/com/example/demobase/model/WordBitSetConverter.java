@@ -0,0 +1,23 @@
+package com.example.demobase.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.BitSet;
+
+/**
+ * Persiste un conjunto de ids de palabras en el formato compacto de WordBitSet.
+ */
+@Converter
+public class WordBitSetConverter implements AttributeConverter<BitSet, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(BitSet ids) {
+        return WordBitSet.encode(ids);
+    }
+
+    @Override
+    public BitSet convertToEntityAttribute(byte[] datos) {
+        return WordBitSet.decode(datos);
+    }
+}
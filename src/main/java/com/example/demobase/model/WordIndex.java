@@ -0,0 +1,107 @@
+package com.example.demobase.model;
+
+import java.util.Arrays;
+
+/**
+ * Índice precalculado de una palabra: qué letras contiene (como LetterMask) y en qué
+ * posiciones aparece cada una. Es inmutable y se construye una sola vez por palabra.
+ */
+public final class WordIndex {
+
+    private static final int[] SIN_POSICIONES = new int[0];
+    private static final char OCULTA = '_';
+
+    private final String palabra;
+    private final int letras;
+    private final int[][] posiciones;
+    private final char[] plantilla;
+
+    private WordIndex(String palabra, int letras, int[][] posiciones, char[] plantilla) {
+        this.palabra = palabra;
+        this.letras = letras;
+        this.posiciones = posiciones;
+        this.plantilla = plantilla;
+    }
+
+    public static WordIndex of(String palabra) {
+        String upper = palabra.toUpperCase();
+        int length = upper.length();
+        int[] cantidades = new int[LetterMask.ALFABETO.length()];
+        char[] plantilla = new char[length];
+        int letras = LetterMask.VACIO;
+
+        for (int i = 0; i < length; i++) {
+            char c = upper.charAt(i);
+            int index = LetterMask.indexOf(c);
+            if (index < 0) {
+                // Espacios y otros caracteres que no se adivinan quedan siempre visibles
+                plantilla[i] = c;
+            } else {
+                plantilla[i] = OCULTA;
+                cantidades[index]++;
+                letras |= 1 << index;
+            }
+        }
+
+        int[][] posiciones = new int[cantidades.length][];
+        for (int index = 0; index < cantidades.length; index++) {
+            posiciones[index] = cantidades[index] == 0 ? SIN_POSICIONES : new int[cantidades[index]];
+            cantidades[index] = 0;
+        }
+        for (int i = 0; i < length; i++) {
+            int index = LetterMask.indexOf(upper.charAt(i));
+            if (index >= 0) {
+                posiciones[index][cantidades[index]++] = i;
+            }
+        }
+
+        return new WordIndex(upper, letras, posiciones, plantilla);
+    }
+
+    public String getPalabra() {
+        return palabra;
+    }
+
+    // Máscara con las letras distintas de la palabra
+    public int getLetras() {
+        return letras;
+    }
+
+    public boolean contains(char letra) {
+        return LetterMask.contains(letras, letra);
+    }
+
+    // La palabra está completa cuando todas sus letras fueron intentadas
+    public boolean isComplete(int letrasIntentadas) {
+        return (letras & ~letrasIntentadas) == 0;
+    }
+
+    public int countCorrect(int letrasIntentadas) {
+        return LetterMask.size(letras & letrasIntentadas);
+    }
+
+    // Descubre en la palabra oculta únicamente las posiciones de la letra indicada
+    public void reveal(char[] palabraOculta, char letra) {
+        int index = LetterMask.indexOf(letra);
+        if (index < 0) {
+            return;
+        }
+        for (int posicion : posiciones[index]) {
+            palabraOculta[posicion] = palabra.charAt(posicion);
+        }
+    }
+
+    // Palabra oculta con las letras intentadas descubiertas
+    public char[] render(int letrasIntentadas) {
+        char[] palabraOculta = Arrays.copyOf(plantilla, plantilla.length);
+        int restantes = letras & letrasIntentadas;
+        while (restantes != 0) {
+            int index = Integer.numberOfTrailingZeros(restantes);
+            for (int posicion : posiciones[index]) {
+                palabraOculta[posicion] = palabra.charAt(posicion);
+            }
+            restantes &= restantes - 1;
+        }
+        return palabraOculta;
+    }
+}
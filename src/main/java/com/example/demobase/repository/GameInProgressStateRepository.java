@@ -0,0 +1,12 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.model.GameInProgress;
+
+import java.util.List;
+
+public interface GameInProgressStateRepository {
+
+    int[] updateStates(List<GameInProgress> partidas);
+
+    void detach(GameInProgress partida);
+}
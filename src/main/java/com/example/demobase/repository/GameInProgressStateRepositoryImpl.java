@@ -0,0 +1,55 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.LetterMask;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Guarda el estado de las partidas en curso (letras e intentos) con un único batch JDBC de
+ * UPDATE por versión, sin leer antes cada fila como haría un merge. Cada fila se resuelve sola:
+ * devuelve 1 si se actualizó y 0 si la fila ya no existe o cambió su versión. Las partidas que
+ * se guardan así se separan del contexto de persistencia, para que Hibernate no las escriba
+ * también al confirmar la transacción en la que se leyeron.
+ */
+public class GameInProgressStateRepositoryImpl implements GameInProgressStateRepository {
+
+    private static final String UPDATE = """
+            UPDATE games_in_progress
+            SET letras_intentadas = ?, intentos_restantes = ?, version = version + 1
+            WHERE id = ? AND version = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public GameInProgressStateRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int[] updateStates(List<GameInProgress> partidas) {
+        int[] filas = jdbcTemplate.batchUpdate(UPDATE, partidas, partidas.size(), (ps, partida) -> {
+            ps.setString(1, LetterMask.format(partida.getLetrasIntentadas()));
+            ps.setInt(2, partida.getIntentosRestantes());
+            ps.setLong(3, partida.getId());
+            ps.setLong(4, partida.getVersion());
+        })[0];
+        // Algunos drivers no informan la cantidad por sentencia: sin error se toma como actualizada
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == Statement.SUCCESS_NO_INFO) {
+                filas[i] = 1;
+            }
+        }
+        return filas;
+    }
+
+    @Override
+    public void detach(GameInProgress partida) {
+        entityManager.detach(partida);
+    }
+}
@@ -1,20 +1,71 @@
 package com.example.demobase.repository;
 
+import com.example.demobase.dto.GameDTO;
 import com.example.demobase.model.Game;
-import com.example.demobase.model.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     
-    List<Game> findByJugador(Player jugador);
+    int FETCH_SIZE_EXPORTACION = 500;
     
-    @Query("SELECT g FROM Game g WHERE g.jugador.id = :playerId ORDER BY g.fechaPartida DESC")
-    List<Game> findByJugadorId(@Param("playerId") Long playerId);
+    // Los listados devuelven directamente GameDTO: jugador y palabra salen del mismo join, sin
+    // cargar las relaciones LAZY fila por fila
+    String SELECT_DTO = "SELECT new com.example.demobase.dto.GameDTO(g.id, j.id, j.nombre, g.resultado, " +
+            "g.puntaje, g.fechaPartida, p.palabra) FROM Game g JOIN g.jugador j LEFT JOIN g.palabra p ";
+    
+    // Página por clave primaria: recorre el índice a partir de after
+    @Query(SELECT_DTO + "WHERE g.id > :after ORDER BY g.id")
+    List<GameDTO> findByIdGreaterThanOrderById(@Param("after") Long after, Limit limit);
+    
+    // Partidas de un jugador de la más reciente a la más vieja, por el índice (id_jugador, fecha_partida, id)
+    @Query(SELECT_DTO + "WHERE j.id = :playerId ORDER BY g.fechaPartida DESC, g.id DESC")
+    List<GameDTO> findByJugadorId(@Param("playerId") Long playerId, Limit limit);
+    
+    // Continúa después de la partida (fecha, id) en el mismo orden
+    @Query(SELECT_DTO + "WHERE j.id = :playerId " +
+            "AND (g.fechaPartida < :fecha OR (g.fechaPartida = :fecha AND g.id < :id)) " +
+            "ORDER BY g.fechaPartida DESC, g.id DESC")
+    List<GameDTO> findByJugadorIdBefore(@Param("playerId") Long playerId, @Param("fecha") LocalDateTime fecha,
+                                        @Param("id") Long id, Limit limit);
+    
+    // Historial para exportar. Se lee del cursor de la base de a FETCH_SIZE_EXPORTACION filas en
+    // lugar de traer todo el resultado a memoria
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_EXPORTACION))
+    @Query(SELECT_DTO +
+            "WHERE (:playerId IS NULL OR j.id = :playerId) " +
+            "AND (:desde IS NULL OR g.fechaPartida >= :desde) " +
+            "AND (:hasta IS NULL OR g.fechaPartida < :hasta) " +
+            "ORDER BY g.id")
+    Stream<GameDTO> streamForExport(@Param("playerId") Long playerId, @Param("desde") LocalDateTime desde,
+                                    @Param("hasta") LocalDateTime hasta);
+    
+    // Totales por jugador y por día de las partidas jugadas desde una fecha
+    @Query("SELECT g.jugador.id AS idJugador, CAST(g.fechaPartida AS LocalDate) AS dia, SUM(g.puntaje) AS puntaje, " +
+            "COUNT(g) AS jugadas, SUM(CASE WHEN g.resultado = 'GANADO' THEN 1L ELSE 0L END) AS ganadas, " +
+            "SUM(CASE WHEN g.resultado = 'PERDIDO' THEN 1L ELSE 0L END) AS perdidas " +
+            "FROM Game g WHERE g.fechaPartida >= :desde " +
+            "GROUP BY g.jugador.id, CAST(g.fechaPartida AS LocalDate)")
+    List<DailyTotals> findDailyTotalsSince(@Param("desde") LocalDateTime desde);
+    
+    interface DailyTotals {
+        Long getIdJugador();
+        LocalDate getDia();
+        Long getPuntaje();
+        Long getJugadas();
+        Long getGanadas();
+        Long getPerdidas();
+    }
 }
-
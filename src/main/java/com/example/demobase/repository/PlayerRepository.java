@@ -1,10 +1,20 @@
 package com.example.demobase.repository;
 
 import com.example.demobase.model.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends JpaRepository<Player, Long>, ScoreboardRepository {
+    
+    // Página por clave primaria: recorre el índice a partir de after. Los ids de cada página quedan
+    // en la caché de consultas hasta que cambia la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Player> findByIdGreaterThanOrderById(Long after, Limit limit);
 }
-
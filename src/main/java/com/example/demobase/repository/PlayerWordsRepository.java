@@ -0,0 +1,9 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.model.PlayerWords;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlayerWordsRepository extends JpaRepository<PlayerWords, Long> {
+}
@@ -0,0 +1,13 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.ScoreboardDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ScoreboardRepository {
+
+    List<ScoreboardDTO> findScoreboard(int limit, int offset);
+
+    Optional<ScoreboardDTO> findScoreboardByPlayer(Long playerId);
+}
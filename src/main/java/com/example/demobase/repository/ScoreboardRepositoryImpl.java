@@ -0,0 +1,52 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puntajes calculados en la base con un único GROUP BY sobre players y games, proyectados
+ * directamente en ScoreboardDTO. El LEFT JOIN incluye a los jugadores sin partidas.
+ */
+public class ScoreboardRepositoryImpl implements ScoreboardRepository {
+
+    private static final String SELECT_PUNTAJES = """
+            SELECT new com.example.demobase.dto.ScoreboardDTO(
+                p.id,
+                p.nombre,
+                CAST(COALESCE(SUM(g.puntaje), 0) AS Integer),
+                COUNT(g),
+                SUM(CASE WHEN g.resultado = 'GANADO' THEN 1L ELSE 0L END),
+                SUM(CASE WHEN g.resultado = 'PERDIDO' THEN 1L ELSE 0L END))
+            FROM Player p LEFT JOIN Game g ON g.jugador = p
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ScoreboardDTO> findScoreboard(int limit, int offset) {
+        // Desempate por id para que las páginas sean estables
+        return entityManager.createQuery(SELECT_PUNTAJES + """
+                        GROUP BY p.id, p.nombre
+                        ORDER BY COALESCE(SUM(g.puntaje), 0) DESC, p.id
+                        """, ScoreboardDTO.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<ScoreboardDTO> findScoreboardByPlayer(Long playerId) {
+        return entityManager.createQuery(SELECT_PUNTAJES + """
+                        WHERE p.id = :playerId
+                        GROUP BY p.id, p.nombre
+                        """, ScoreboardDTO.class)
+                .setParameter("playerId", playerId)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.demobase.repository;
 
+import com.example.demobase.dto.WordDTO;
 import com.example.demobase.model.Word;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,10 +17,13 @@ public interface WordRepository extends JpaRepository<Word, Long> {
     
     Optional<Word> findByPalabra(String palabra);
     
-    @Query(value = "SELECT * FROM words WHERE utilizada = false ORDER BY RAND() LIMIT 1", nativeQuery = true)
-    Optional<Word> findRandomWord();
+    // Id y texto de todas las palabras, sin cargar las entidades
+    @Query("SELECT new com.example.demobase.dto.WordDTO(w.id, w.palabra) FROM Word w")
+    java.util.List<WordDTO> findAllForPool();
     
-    @Query("SELECT w FROM Word w ORDER BY w.id")
-    java.util.List<Word> findAllOrdered();
+    // Página por clave primaria: recorre el índice a partir de after. Los ids de cada página quedan
+    // en la caché de consultas hasta que cambia la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    java.util.List<Word> findByIdGreaterThanOrderById(Long after, Limit limit);
 }
 
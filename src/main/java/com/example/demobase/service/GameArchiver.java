@@ -0,0 +1,294 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.Game;
+import com.example.demobase.repository.GameInProgressRepository;
+import com.example.demobase.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archiva las partidas terminadas fuera de la transacción de la última jugada: se encolan en
+ * una cola acotada y un hilo escritor las inserta en games y borra sus filas de games_in_progress
+ * en lotes. Si la cola está llena la partida se archiva en el momento; al apagar se vacía la cola.
+ * Dentro de una transacción la partida se encola recién cuando esta termina, y solo si confirma.
+ * Las partidas que no se pudieron archivar quedan apartadas y se reintentan periódicamente.
+ */
+@Slf4j
+@Component
+public class GameArchiver {
+
+    private static final int MAX_REINTENTOS = 3;
+    private static final long ESPERA_REINTENTO_MS = 1000;
+    private static final long ESPERA_COLA_MS = 200;
+
+    private final GameRepository gameRepository;
+    private final GameInProgressRepository gameInProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<Archivo> queue;
+    private final int batchSize;
+    private final long lingerMs;
+
+    // Partidas en curso ya terminadas cuya fila todavía no se borró
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    // Partidas que fallaron todos los intentos. Siguen pendientes: su fila vieja no se vuelve a
+    // cargar como partida en curso, porque los puntajes ya las contaron
+    private final Queue<Archivo> fallidas = new ConcurrentLinkedQueue<>();
+
+    private final Counter archivadas;
+    private final Counter sincronicas;
+    private final Timer lotes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public GameArchiver(GameRepository gameRepository,
+                        GameInProgressRepository gameInProgressRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${game.archive.queue-capacity:10000}") int queueCapacity,
+                        @Value("${game.archive.batch-size:100}") int batchSize,
+                        @Value("${game.archive.linger-ms:50}") long lingerMs) {
+        this.gameRepository = gameRepository;
+        this.gameInProgressRepository = gameInProgressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Al archivar en el momento después de confirmar la jugada, su transacción ya terminó
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+
+        Gauge.builder("game.archive.queue.size", queue, Collection::size)
+                .description("Partidas terminadas esperando ser archivadas")
+                .register(meterRegistry);
+        Gauge.builder("game.archive.failed", fallidas, Collection::size)
+                .description("Partidas que no se pudieron archivar, esperando el próximo reintento")
+                .register(meterRegistry);
+        this.archivadas = Counter.builder("game.archive.archived")
+                .description("Partidas terminadas archivadas")
+                .register(meterRegistry);
+        this.sincronicas = Counter.builder("game.archive.synchronous")
+                .description("Partidas archivadas en la misma petición por tener la cola llena")
+                .register(meterRegistry);
+        this.lotes = Timer.builder("game.archive.batch")
+                .description("Tiempo de escritura de cada lote")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "game-archiver");
+        writer.start();
+    }
+
+    // Al apagar el hilo termina de vaciar la cola; lo que quede se escribe acá y las que habían
+    // fallado tienen un último intento. Si siguen fallando su fila queda en games_in_progress
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        drain();
+        retryFailed();
+        if (!fallidas.isEmpty()) {
+            log.error("Se apaga con {} partidas sin archivar", fallidas.size());
+        }
+    }
+
+    // La partida figura como pendiente desde ya, así no se vuelve a cargar como partida en curso
+    // mientras confirma la jugada. Si la jugada se deshace deja de figurar y no se archiva
+    public void archive(Game game, Long gameInProgressId) {
+        Archivo archivo = new Archivo(game, gameInProgressId);
+        pending.add(gameInProgressId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(archivo);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(archivo);
+                } else {
+                    pending.remove(gameInProgressId);
+                }
+            }
+        });
+    }
+
+    private void enqueue(Archivo archivo) {
+        if (!running || !queue.offer(archivo)) {
+            // Cola llena (o apagando): se archiva en el momento, en una transacción propia
+            sincronicas.increment();
+            write(List.of(archivo));
+        }
+    }
+
+    public boolean isPending(Long gameInProgressId) {
+        return pending.contains(gameInProgressId);
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    // Vuelve a intentar de a una, sin pausas, las partidas que fallaron; las que sigan fallando
+    // quedan para la próxima vez
+    @Scheduled(fixedDelayString = "${game.archive.retry-interval-ms:60000}")
+    public void retryFailed() {
+        List<Archivo> lote = new ArrayList<>();
+        Archivo archivo;
+        while ((archivo = fallidas.poll()) != null) {
+            lote.add(archivo);
+        }
+        writeEach(lote);
+    }
+
+    public int failed() {
+        return fallidas.size();
+    }
+
+    // Escribe todo lo encolado en lotes, en el hilo que llama
+    public void drain() {
+        List<Archivo> lote = new ArrayList<>(batchSize);
+        while (queue.drainTo(lote, batchSize) > 0) {
+            write(lote);
+            lote.clear();
+        }
+    }
+
+    private void run() {
+        List<Archivo> lote = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Archivo primero = queue.poll(ESPERA_COLA_MS, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                fill(lote);
+                write(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error inesperado archivando partidas", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    // Después de la primera partida espera hasta lingerMs a que lleguen más, así con poca carga
+    // también se escriben lotes en lugar de una transacción por partida
+    private void fill(List<Archivo> lote) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (lote.size() < batchSize) {
+            queue.drainTo(lote, batchSize - lote.size());
+            long restante = limite - System.nanoTime();
+            if (lote.size() >= batchSize || restante <= 0) {
+                return;
+            }
+            Archivo siguiente = queue.poll(restante, TimeUnit.NANOSECONDS);
+            if (siguiente == null) {
+                return;
+            }
+            lote.add(siguiente);
+        }
+    }
+
+    // Reintenta el lote ante fallas transitorias; si sigue fallando se escribe de a una partida
+    // para que una sola con problemas no impida archivar las demás. Las que fallan igual se apartan
+    // para retryFailed, sin dejar de figurar como pendientes
+    private void write(List<Archivo> lote) {
+        for (int intento = 1; intento <= MAX_REINTENTOS; intento++) {
+            try {
+                writeBatch(lote);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("No se pudo archivar un lote de {} partidas (intento {}): {}", lote.size(), intento, e.getMessage());
+                if (intento < MAX_REINTENTOS && !pause()) {
+                    break;
+                }
+            }
+        }
+        writeEach(lote);
+    }
+
+    private void writeEach(List<Archivo> lote) {
+        for (Archivo archivo : lote) {
+            try {
+                writeBatch(List.of(archivo));
+            } catch (RuntimeException e) {
+                fallidas.add(archivo);
+                log.error("No se pudo archivar la partida en curso {}; se reintenta más tarde", archivo.gameInProgressId(), e);
+            }
+        }
+    }
+
+    private void writeBatch(List<Archivo> lote) {
+        List<Game> games = new ArrayList<>(lote.size());
+        List<Long> ids = new ArrayList<>(lote.size());
+        Set<Long> jugadores = new HashSet<>();
+        for (Archivo archivo : lote) {
+            // Un intento anterior que se deshizo pudo haberle asignado id
+            archivo.game().setId(null);
+            games.add(archivo.game());
+            ids.add(archivo.gameInProgressId());
+            jugadores.add(archivo.game().getJugador().getId());
+        }
+
+        lotes.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            gameRepository.saveAll(games);
+            gameInProgressRepository.deleteAllByIdInBatch(ids);
+        }));
+        ids.forEach(pending::remove);
+        archivadas.increment(lote.size());
+        eventPublisher.publishEvent(new GamesArchivedEvent(jugadores));
+        log.debug("Archivadas {} partidas", lote.size());
+    }
+
+    private static boolean pause() {
+        try {
+            Thread.sleep(ESPERA_REINTENTO_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Archivo(Game game, Long gameInProgressId) {
+    }
+}
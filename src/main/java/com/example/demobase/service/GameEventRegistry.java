@@ -0,0 +1,220 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameResponseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conexiones SSE abiertas por jugador. Cada cambio en la partida de un jugador se envía a
+ * todos los que la están mirando, en lugar de que cada uno consulte el estado periódicamente.
+ * Los envíos salen en hilos propios, uno a la vez por conexión, así un espectador lento no
+ * frena las jugadas.
+ */
+@Slf4j
+@Component
+public class GameEventRegistry {
+
+    private static final String EVENTO_ESTADO = "estado";
+
+    private final Map<Long, List<Suscripcion>> emitters = new ConcurrentHashMap<>();
+    private final Executor envios;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+    private final int maxPending;
+
+    @Autowired
+    public GameEventRegistry(@Value("${game.events.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${game.events.send-timeout-ms:5000}") long sendTimeoutMs,
+                             @Value("${game.events.max-pending:32}") int maxPending) {
+        this(Executors.newCachedThreadPool(runnable -> {
+            Thread hilo = new Thread(runnable, "game-events");
+            hilo.setDaemon(true);
+            return hilo;
+        }), timeoutMs, sendTimeoutMs, maxPending);
+    }
+
+    GameEventRegistry(Executor envios, long timeoutMs, long sendTimeoutMs, int maxPending) {
+        this.envios = envios;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.maxPending = maxPending;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (envios instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    public SseEmitter subscribe(Long playerId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Suscripcion suscripcion = new Suscripcion(playerId, emitter);
+        emitters.compute(playerId, (id, suscriptos) -> {
+            List<Suscripcion> lista = suscriptos == null ? new CopyOnWriteArrayList<>() : suscriptos;
+            lista.add(suscripcion);
+            return lista;
+        });
+
+        // Al cerrarse la conexión (por el cliente, por timeout o por error) se saca del registro
+        Runnable quitar = () -> unsubscribe(suscripcion);
+        emitter.onCompletion(quitar);
+        emitter.onTimeout(quitar);
+        emitter.onError(e -> quitar.run());
+        return emitter;
+    }
+
+    // Dentro de una transacción el evento sale recién cuando confirma, así nunca se muestra un
+    // estado que después se deshace. Se encola dentro del lock del jugador, que se libera al
+    // completar la transacción, por lo que los eventos de un jugador llegan en orden
+    public void publish(Long playerId, GameResponseDTO estado) {
+        if (!emitters.containsKey(playerId)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendAll(playerId, estado);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendAll(playerId, estado);
+            }
+        });
+    }
+
+    public void send(Long playerId, SseEmitter emitter, GameResponseDTO estado) {
+        List<Suscripcion> suscriptos = emitters.get(playerId);
+        if (suscriptos == null) {
+            return;
+        }
+        for (Suscripcion suscripcion : suscriptos) {
+            if (suscripcion.emitter == emitter) {
+                suscripcion.enqueue(estado);
+            }
+        }
+    }
+
+    private void sendAll(Long playerId, GameResponseDTO estado) {
+        List<Suscripcion> suscriptos = emitters.get(playerId);
+        if (suscriptos == null) {
+            return;
+        }
+        for (Suscripcion suscripcion : suscriptos) {
+            suscripcion.enqueue(estado);
+        }
+    }
+
+    public int subscribers(Long playerId) {
+        List<Suscripcion> suscriptos = emitters.get(playerId);
+        return suscriptos == null ? 0 : suscriptos.size();
+    }
+
+    private void unsubscribe(Suscripcion suscripcion) {
+        emitters.computeIfPresent(suscripcion.playerId, (id, suscriptos) -> {
+            suscriptos.remove(suscripcion);
+            return suscriptos.isEmpty() ? null : suscriptos;
+        });
+    }
+
+    // Una conexión con sus eventos por enviar. A lo sumo un envío en curso, así llegan en orden
+    private final class Suscripcion {
+        private final Long playerId;
+        private final SseEmitter emitter;
+        private final Queue<GameResponseDTO> pendientes = new ArrayDeque<>();
+        private boolean enviando;
+        // Desde cuándo espera el evento que se está enviando (o por enviar); 0 si no hay ninguno
+        private long inicioEnvio;
+        private boolean descartada;
+
+        private Suscripcion(Long playerId, SseEmitter emitter) {
+            this.playerId = playerId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(GameResponseDTO estado) {
+            synchronized (this) {
+                if (descartada) {
+                    return;
+                }
+                // Un envío trabado o una cola larga: el espectador no lee, se corta la conexión
+                boolean trabado = inicioEnvio != 0 && System.nanoTime() - inicioEnvio > sendTimeoutNanos;
+                if (trabado || pendientes.size() >= maxPending) {
+                    drop("no lee los eventos");
+                    return;
+                }
+                pendientes.add(estado);
+                if (enviando) {
+                    return;
+                }
+                enviando = true;
+                inicioEnvio = System.nanoTime();
+            }
+            try {
+                envios.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    drop("la aplicación se está apagando");
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                GameResponseDTO estado;
+                synchronized (this) {
+                    estado = pendientes.poll();
+                    if (estado == null || descartada) {
+                        enviando = false;
+                        inicioEnvio = 0;
+                        return;
+                    }
+                    inicioEnvio = System.nanoTime();
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(EVENTO_ESTADO).data(estado));
+                } catch (IOException | IllegalStateException e) {
+                    // Conexión cerrada del otro lado
+                    log.debug("Se descarta una conexión SSE del jugador {}: {}", playerId, e.getMessage());
+                    synchronized (this) {
+                        descartada = true;
+                    }
+                    unsubscribe(this);
+                }
+            }
+        }
+
+        // Se llama con el monitor tomado. Cerrar la conexión puede esperar al envío trabado, por
+        // eso se hace en el hilo de envíos y no en el de la jugada
+        private void drop(String motivo) {
+            log.debug("Se descarta una conexión SSE del jugador {}: {}", playerId, motivo);
+            descartada = true;
+            pendientes.clear();
+            unsubscribe(this);
+            try {
+                envios.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // Ya no quedan hilos de envío: la conexión se cierra con la aplicación
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.repository.GameRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exporta el historial de partidas como NDJSON (un objeto JSON por línea) o CSV. Las filas se leen
+ * del cursor de la base y se escriben a medida que llegan, así la memoria usada no depende de la
+ * cantidad de partidas.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameExporter {
+
+    private static final String ENCABEZADO_CSV = "id,idJugador,nombreJugador,resultado,puntaje,fechaPartida,palabra";
+
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Formato {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        public static Formato parse(String formato) {
+            try {
+                return valueOf(formato.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Formato de exportación no soportado: " + formato);
+            }
+        }
+    }
+
+    // desde y hasta son opcionales e inclusive; devuelve la cantidad de partidas escritas
+    @Transactional(readOnly = true)
+    public long export(Long playerId, LocalDate desde, LocalDate hasta, Formato formato, OutputStream salida)
+            throws IOException {
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new RuntimeException("La fecha hasta no puede ser anterior a desde");
+        }
+        LocalDateTime inicio = desde != null ? desde.atStartOfDay() : null;
+        LocalDateTime fin = hasta != null ? hasta.plusDays(1).atStartOfDay() : null;
+
+        // No se cierra el writer: la salida es de quien la abrió
+        Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == Formato.CSV) {
+            writer.write(ENCABEZADO_CSV);
+            writer.write('\n');
+        }
+
+        long filas = 0;
+        try (Stream<GameDTO> games = gameRepository.streamForExport(playerId, inicio, fin)) {
+            Iterator<GameDTO> iterator = games.iterator();
+            while (iterator.hasNext()) {
+                GameDTO dto = iterator.next();
+                if (formato == Formato.CSV) {
+                    writeCsv(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+                // Cada bloque se envía al cliente; las filas son DTO, no quedan en el contexto de persistencia
+                if (++filas % GameRepository.FETCH_SIZE_EXPORTACION == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return filas;
+    }
+
+    private static void writeCsv(Writer writer, GameDTO dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getIdJugador()));
+        writer.write(',');
+        writer.write(csv(dto.getNombreJugador()));
+        writer.write(',');
+        writer.write(csv(dto.getResultado()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getPuntaje()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getFechaPartida()));
+        writer.write(',');
+        writer.write(csv(dto.getPalabra()));
+        writer.write('\n');
+    }
+
+    // Entre comillas solo si hace falta, duplicando las comillas internas (RFC 4180)
+    private static String csv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
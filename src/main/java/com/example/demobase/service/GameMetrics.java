@@ -0,0 +1,102 @@
+package com.example.demobase.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de las partidas: tiempos de inicio, jugadas y consultas de puntajes (con histograma
+ * para calcular percentiles en Prometheus), partidas ganadas y perdidas, letras repetidas y
+ * pedidos de partida sin palabras disponibles. Los tiempos de inicio y jugadas se toman en el
+ * controlador, por fuera de la transacción, así incluyen el flush y el commit.
+ */
+@Component
+public class GameMetrics {
+
+    // Consultas de puntajes, usadas como valor del tag consulta de scoreboard.query
+    static final String GENERAL = "general";
+    static final String DIARIA = "diaria";
+    static final String SEMANAL = "semanal";
+    static final String MENSUAL = "mensual";
+    static final String JUGADOR = "jugador";
+    static final String RANKING = "ranking";
+    static final String TOP = "top";
+    static final String VECINOS = "vecinos";
+
+    private final Timer inicios;
+    private final Timer jugadas;
+    private final Timer lotes;
+    private final Map<String, Timer> consultas = new HashMap<>();
+    private final Counter ganadas;
+    private final Counter perdidas;
+    private final Counter repetidas;
+    private final Counter sinPalabras;
+
+    public GameMetrics(MeterRegistry meterRegistry) {
+        this.inicios = timer(meterRegistry, "game.start", "Tiempo de inicio de partida");
+        this.jugadas = timer(meterRegistry, "game.guess", "Tiempo por jugada de una letra");
+        this.lotes = timer(meterRegistry, "game.guess.batch", "Tiempo por jugada de varias letras");
+        for (String consulta : new String[]{GENERAL, DIARIA, SEMANAL, MENSUAL, JUGADOR, RANKING, TOP, VECINOS}) {
+            consultas.put(consulta, Timer.builder("scoreboard.query")
+                    .description("Tiempo por consulta de puntajes")
+                    .tag("consulta", consulta)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.ganadas = finished(meterRegistry, "GANADO");
+        this.perdidas = finished(meterRegistry, "PERDIDO");
+        this.repetidas = Counter.builder("game.guess.repeated")
+                .description("Letras jugadas que ya se habían intentado en la partida")
+                .register(meterRegistry);
+        this.sinPalabras = Counter.builder("game.words.unavailable")
+                .description("Partidas no iniciadas porque el jugador ya jugó todas las palabras pedidas")
+                .register(meterRegistry);
+    }
+
+    public <T> T timeStart(Supplier<T> inicio) {
+        return inicios.record(inicio);
+    }
+
+    public <T> T timeGuess(Supplier<T> jugada) {
+        return jugadas.record(jugada);
+    }
+
+    public <T> T timeGuesses(Supplier<T> jugada) {
+        return lotes.record(jugada);
+    }
+
+    public <T> T timeScoreboard(String consulta, Supplier<T> lectura) {
+        return consultas.get(consulta).record(lectura);
+    }
+
+    public void gameFinished(boolean ganado) {
+        (ganado ? ganadas : perdidas).increment();
+    }
+
+    public void repeatedLetter() {
+        repetidas.increment();
+    }
+
+    public void noWordsAvailable() {
+        sinPalabras.increment();
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String nombre, String descripcion) {
+        return Timer.builder(nombre)
+                .description(descripcion)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter finished(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("game.finished")
+                .description("Partidas terminadas por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
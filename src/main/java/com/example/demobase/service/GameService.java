@@ -2,21 +2,30 @@ package com.example.demobase.service;
 
 import com.example.demobase.dto.GameDTO;
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GuessBatchResponseDTO;
+import com.example.demobase.dto.GuessResultDTO;
+import com.example.demobase.dto.PageDTO;
+import com.example.demobase.model.Dificultad;
 import com.example.demobase.model.Game;
 import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.GameRules;
+import com.example.demobase.model.LetterMask;
 import com.example.demobase.model.Player;
 import com.example.demobase.model.Word;
 import com.example.demobase.repository.GameInProgressRepository;
 import com.example.demobase.repository.GameRepository;
 import com.example.demobase.repository.PlayerRepository;
-import com.example.demobase.repository.WordRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -25,213 +34,286 @@ public class GameService {
     private final GameRepository gameRepository;
     private final GameInProgressRepository gameInProgressRepository;
     private final PlayerRepository playerRepository;
-    private final WordRepository wordRepository;
+    private final GameSessionStore gameSessionStore;
+    private final WordPool wordPool;
+    private final PlayedWords playedWords;
+    private final PlayerLocks playerLocks;
+    private final GameEventRegistry gameEventRegistry;
+    private final GameArchiver gameArchiver;
+    private final Leaderboard leaderboard;
+    private final PeriodScoreboard periodScoreboard;
+    private final GameMetrics gameMetrics;
     
-    private static final int MAX_INTENTOS = 7;
-    private static final int PUNTOS_PALABRA_COMPLETA = 20;
-    private static final int PUNTOS_POR_LETRA = 1;
+    // Cada letra del alfabeto una vez: un lote más largo solo puede traer repetidas
+    private static final int MAX_LETRAS_POR_LOTE = LetterMask.ALFABETO.length();
+    
+    // Letra de un lote que llega cuando la partida ya terminó
+    private static final String LETRA_OMITIDA = "OMITIDA";
     
     @Transactional
     public GameResponseDTO startGame(Long playerId) {
+        return startGame(playerId, null, null);
+    }
+    
+    // dificultad y largo son opcionales: null toma una palabra de cualquier dificultad o largo
+    @Transactional
+    public GameResponseDTO startGame(Long playerId, Dificultad dificultad, Integer largo) {
+        return playerLocks.withLock(playerId, () -> start(playerId, dificultad, largo));
+    }
+    
+    private GameResponseDTO start(Long playerId, Dificultad dificultad, Integer largo) {
         // Validar que el jugador existe
         Player player = playerRepository.findById(playerId)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
 
 
-        Word word = wordRepository.findRandomWord()
-                .orElseThrow(() -> new RuntimeException("No hay palabras disponibles"));
+        // Entre las palabras que este jugador todavía no jugó
+        Optional<Word> siguiente = wordPool.next(playedWords.get(playerId), dificultad, largo);
+        if (siguiente.isEmpty()) {
+            gameMetrics.noWordsAvailable();
+            throw new RuntimeException("No hay palabras disponibles");
+        }
+        Word word = siguiente.get();
 
         // Verificar si ya existe una partida en curso para este jugador y palabra
         Optional<GameInProgress> existingGame = gameInProgressRepository.findByJugadorAndPalabra(playerId, word.getId());
 
         if (existingGame.isPresent()) {
 
-            return buildResponseFromGameInProgress(existingGame.get());
+            return publish(playerId, buildResponseFromGameInProgress(gameSessionStore.putIfAbsent(existingGame.get())));
         }
 
-        // Marcar la palabra como utilizada
-        word.setUtilizada(true);
-        wordRepository.save(word);
+        // Marcar la palabra como jugada por este jugador (solo cambia su fila en player_words)
+        playedWords.markPlayed(playerId, word.getId());
 
         // Crear nueva partida en curso
         GameInProgress newGame = new GameInProgress();
         newGame.setJugador(player);
         newGame.setPalabra(word);
-        newGame.setLetrasIntentadas("");
-        newGame.setIntentosRestantes(MAX_INTENTOS);
+        newGame.setLetrasIntentadas(LetterMask.VACIO);
+        newGame.setIntentosRestantes(GameRules.MAX_INTENTOS);
         newGame.setFechaInicio(LocalDateTime.now());
 
-        GameInProgress savedGame = gameInProgressRepository.save(newGame);
+        GameInProgress savedGame = gameSessionStore.putIfAbsent(gameInProgressRepository.save(newGame));
 
-        return buildResponseFromGameInProgress(savedGame);
+        return publish(playerId, buildResponseFromGameInProgress(savedGame));
     }
     
     @Transactional
     public GameResponseDTO makeGuess(Long playerId, Character letra) {
-        // Validar que el jugador existe
-        Player player = playerRepository.findById(playerId)
-                .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
-
-        // Convertir la letra a mayúscula
-        Character letraMayuscula = Character.toUpperCase(letra);
-
-        // Buscar la partida en curso más reciente del jugador
-        List<GameInProgress> gamesInProgress = gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(playerId);
-
-        if (gamesInProgress.isEmpty()) {
-            throw new RuntimeException("No hay partidas en curso para el jugador con id: " + playerId);
-        }
+        // Convertir la letra a mayúscula y validar que pertenezca al alfabeto
+        char letraMayuscula = toValidLetter(letra);
 
-        // Tomar la partida más reciente
-        GameInProgress gameInProgress = gamesInProgress.get(0);
-
-        // Obtener letras ya intentadas
-        Set<Character> letrasIntentadas = stringToCharSet(gameInProgress.getLetrasIntentadas());
-
-        // Verificar si la letra ya fue intentada
-        if (letrasIntentadas.contains(letraMayuscula)) {
-            // Si la letra ya fue intentada, retornar el estado actual sin cambios
+        // Las jugadas de un mismo jugador se aplican de a una: la siguiente espera a que la
+        // anterior confirme su transacción en lugar de pisar letras o intentos
+        return playerLocks.withLock(playerId, () -> {
+            // Obtener la partida en curso más reciente (desde memoria o, si no está, desde la base)
+            GameInProgress gameInProgress = findCurrentGame(playerId);
+            return guess(gameInProgress, letraMayuscula);
+        });
+    }
+    
+    @Transactional
+    public GameResponseDTO makeGuessByGame(Long gameId, Character letra) {
+        char letraMayuscula = toValidLetter(letra);
+        Long playerId = findGameInProgress(gameId).getJugador().getId();
+        // Se vuelve a buscar bajo el lock por si otra jugada terminó la partida mientras tanto
+        return playerLocks.withLock(playerId, () -> guess(findGameInProgress(gameId), letraMayuscula));
+    }
+    
+    private GameResponseDTO guess(GameInProgress gameInProgress, char letraMayuscula) {
+        // Si la letra ya fue intentada, retornar el estado actual sin cambios
+        if (GameRules.LETRA_REPETIDA.equals(applyGuess(gameInProgress, letraMayuscula))) {
             return buildResponseFromGameInProgress(gameInProgress);
         }
+        updateAfterGuesses(gameInProgress);
 
-        // Agregar la nueva letra
-        letrasIntentadas.add(letraMayuscula);
-
-        // Verificar si la letra está en la palabra
-        String palabra = gameInProgress.getPalabra().getPalabra().toUpperCase();
-        boolean letraCorrecta = palabra.indexOf(letraMayuscula) >= 0;
-
-        // Decrementar intentos solo si la letra es incorrecta
-        if (!letraCorrecta) {
-            gameInProgress.setIntentosRestantes(gameInProgress.getIntentosRestantes() - 1);
+        // Construir respuesta y avisar a quienes siguen la partida
+        return publish(gameInProgress.getJugador().getId(), buildResponseFromGameInProgress(gameInProgress));
+    }
+    
+    // Si se indica gameId se usa esa partida; si no, la partida en curso más reciente del jugador
+    @Transactional
+    public GuessBatchResponseDTO makeGuesses(Long playerId, Long gameId, List<Character> letras) {
+        // Los errores de la entrada se rechazan con 400 antes de tomar el lock del jugador
+        if (letras == null || letras.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe indicar al menos una letra");
         }
-
-        // Actualizar letras intentadas
-        gameInProgress.setLetrasIntentadas(charSetToString(letrasIntentadas));
-
-        // Generar palabra oculta
-        String palabraOculta = generateHiddenWord(palabra, letrasIntentadas);
-        boolean palabraCompleta = palabraOculta.equals(palabra);
-        boolean juegoTerminado = palabraCompleta || gameInProgress.getIntentosRestantes() == 0;
-
-        // Guardar el estado actualizado
-        gameInProgressRepository.save(gameInProgress);
-
-        // Si el juego terminó, guardar en Game y eliminar de GameInProgress
-        if (juegoTerminado) {
-            int puntaje = calculateScore(palabra, letrasIntentadas, palabraCompleta, gameInProgress.getIntentosRestantes());
-            saveGame(player, gameInProgress.getPalabra(), palabraCompleta, puntaje);
-            gameInProgressRepository.delete(gameInProgress);
+        if (letras.size() > MAX_LETRAS_POR_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "No se pueden enviar más de " + MAX_LETRAS_POR_LOTE + " letras por lote");
         }
-
-        // Construir respuesta
-        return buildResponseFromGameInProgress(gameInProgress);
+        
+        // Se validan todas las letras antes de aplicar cualquiera
+        char[] letrasMayusculas = new char[letras.size()];
+        for (int i = 0; i < letrasMayusculas.length; i++) {
+            letrasMayusculas[i] = toValidLetter(letras.get(i));
+        }
+        
+        Long lockId = gameId != null ? findGameInProgress(gameId).getJugador().getId() : playerId;
+        return playerLocks.withLock(lockId, () -> applyGuesses(playerId, gameId, letrasMayusculas));
     }
     
-    private GameResponseDTO buildResponseFromGameInProgress(GameInProgress gameInProgress) {
-        String palabra = gameInProgress.getPalabra().getPalabra().toUpperCase();
-        Set<Character> letrasIntentadas = stringToCharSet(gameInProgress.getLetrasIntentadas());
-        String palabraOculta = generateHiddenWord(palabra, letrasIntentadas);
-        boolean palabraCompleta = palabraOculta.equals(palabra);
+    private GuessBatchResponseDTO applyGuesses(Long playerId, Long gameId, char[] letrasMayusculas) {
+        GameInProgress gameInProgress = gameId != null ? findGameInProgress(gameId) : findCurrentGame(playerId);
+        List<GuessResultDTO> resultados = new ArrayList<>(letrasMayusculas.length);
+        boolean huboCambios = false;
         
-        GameResponseDTO response = new GameResponseDTO();
-        response.setPalabraOculta(palabraOculta);
-        response.setLetrasIntentadas(new ArrayList<>(letrasIntentadas));
-        response.setIntentosRestantes(gameInProgress.getIntentosRestantes());
-        response.setPalabraCompleta(palabraCompleta);
+        // Se aplican en orden; cuando la partida termina, el resto de las letras se omite
+        for (char letra : letrasMayusculas) {
+            if (GameRules.isFinished(gameInProgress)) {
+                resultados.add(new GuessResultDTO(letra, LETRA_OMITIDA));
+                continue;
+            }
+            String resultado = applyGuess(gameInProgress, letra);
+            huboCambios |= !GameRules.LETRA_REPETIDA.equals(resultado);
+            resultados.add(new GuessResultDTO(letra, resultado));
+        }
         
-        int puntaje = calculateScore(palabra, letrasIntentadas, palabraCompleta, gameInProgress.getIntentosRestantes());
-        response.setPuntajeAcumulado(puntaje);
+        if (huboCambios) {
+            updateAfterGuesses(gameInProgress);
+        }
         
-        return response;
+        GameResponseDTO estado = buildResponseFromGameInProgress(gameInProgress);
+        if (huboCambios) {
+            publish(gameInProgress.getJugador().getId(), estado);
+        }
+        return new GuessBatchResponseDTO(resultados, estado);
     }
     
-    private Set<Character> stringToCharSet(String str) {
-        Set<Character> set = new HashSet<>();
-        if (str != null && !str.isEmpty()) {
-            String[] chars = str.split(",");
-            for (String c : chars) {
-                if (!c.trim().isEmpty()) {
-                    set.add(c.trim().charAt(0));
-                }
-            }
+    // Conexión SSE con el estado de la partida en curso del jugador: se envía el estado actual
+    // (si tiene una partida) y después cada cambio
+    public SseEmitter subscribe(Long playerId) {
+        if (!playerRepository.existsById(playerId)) {
+            throw new RuntimeException("Jugador no encontrado con id: " + playerId);
         }
-        return set;
+        return playerLocks.withLock(playerId, () -> {
+            SseEmitter emitter = gameEventRegistry.subscribe(playerId);
+            findCurrentGameIfAny(playerId).ifPresent(g ->
+                    gameEventRegistry.send(playerId, emitter, buildResponseFromGameInProgress(g)));
+            return emitter;
+        });
     }
     
-    private String charSetToString(Set<Character> set) {
-        if (set == null || set.isEmpty()) {
-            return "";
+    private GameResponseDTO publish(Long playerId, GameResponseDTO estado) {
+        gameEventRegistry.publish(playerId, estado);
+        return estado;
+    }
+    
+    private char toValidLetter(Character letra) {
+        if (letra == null || !LetterMask.isLetter(letra)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Letra inválida: " + letra);
         }
-        return set.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
+        return Character.toUpperCase(letra);
     }
     
-    private int calculateScore(String palabra, Set<Character> letrasIntentadas, boolean palabraCompleta, int intentosRestantes) {
-        if (palabraCompleta) {
-            return PUNTOS_PALABRA_COMPLETA;
-        } else if (intentosRestantes == 0) {
-            // Contar letras correctas encontradas
-            long letrasCorrectas = letrasIntentadas.stream()
-                    .filter(letra -> palabra.indexOf(letra) >= 0)
-                    .count();
-            return (int) (letrasCorrectas * PUNTOS_POR_LETRA);
+    // Aplica una letra sobre la partida en memoria y devuelve el resultado del intento
+    private String applyGuess(GameInProgress gameInProgress, char letraMayuscula) {
+        String resultado = GameRules.guess(gameInProgress, letraMayuscula);
+        if (GameRules.LETRA_REPETIDA.equals(resultado)) {
+            gameMetrics.repeatedLetter();
         }
-        return 0;
+        return resultado;
     }
     
-    private String generateHiddenWord(String palabra, Set<Character> letrasIntentadas) {
-        StringBuilder hidden = new StringBuilder();
-        for (char c : palabra.toCharArray()) {
-            if (letrasIntentadas.contains(c) || c == ' ') {
-                hidden.append(c);
-            } else {
-                hidden.append('_');
-            }
+    // Si el juego terminó, se encola para guardarlo en Game y eliminarlo de GameInProgress en
+    // segundo plano; si no, el estado queda en memoria y se persiste en el próximo flush
+    private void updateAfterGuesses(GameInProgress gameInProgress) {
+        if (!GameRules.isFinished(gameInProgress)) {
+            gameSessionStore.markDirty(gameInProgress.getId());
+            return;
         }
-        return hidden.toString();
+
+        gameSessionStore.remove(gameInProgress);
+        boolean palabraCompleta = GameRules.isWordComplete(gameInProgress);
+        // Se cuenta cuando confirma: una jugada que se deshace no terminó ninguna partida
+        AfterCommit.run(() -> gameMetrics.gameFinished(palabraCompleta));
+        int puntaje = GameRules.score(gameInProgress);
+        Game game = buildGame(gameInProgress.getJugador(), gameInProgress.getPalabra(), palabraCompleta, puntaje);
+        leaderboard.recordGame(gameInProgress.getJugador(), palabraCompleta, puntaje);
+        periodScoreboard.recordGame(game);
+        gameArchiver.archive(game, gameInProgress.getId());
     }
     
-    @Transactional
-    private void saveGame(Player player, Word word, boolean ganado, int puntaje) {
-        // Asegurar que la palabra esté marcada como utilizada
-        if (!word.getUtilizada()) {
-            word.setUtilizada(true);
-            wordRepository.save(word);
+    private GameInProgress findCurrentGame(Long playerId) {
+        return findCurrentGameIfAny(playerId)
+                .orElseThrow(() -> playerRepository.existsById(playerId)
+                        ? new RuntimeException("No hay partidas en curso para el jugador con id: " + playerId)
+                        : new RuntimeException("Jugador no encontrado con id: " + playerId));
+    }
+    
+    private Optional<GameInProgress> findCurrentGameIfAny(Long playerId) {
+        Optional<GameInProgress> cached = gameSessionStore.getLatestForPlayer(playerId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        // Buscar la partida en curso más reciente del jugador (con jugador y palabra en la misma consulta)
+        // Una partida terminada que todavía espera ser archivada ya no está en curso
+        return gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(playerId)
+                .filter(g -> !gameArchiver.isPending(g.getId()))
+                .map(this::keepInMemory);
+    }
+    
+    private GameInProgress findGameInProgress(Long gameId) {
+        Optional<GameInProgress> cached = gameSessionStore.get(gameId);
+        if (cached.isPresent()) {
+            return cached.get();
         }
+
+        // Búsqueda por clave primaria, con jugador y palabra en la misma consulta
+        GameInProgress gameInProgress = gameInProgressRepository.findWithDetailsById(gameId)
+                .filter(g -> !gameArchiver.isPending(g.getId()))
+                .orElseThrow(() -> new RuntimeException("No hay partida en curso con id: " + gameId));
+        return keepInMemory(gameInProgress);
+    }
+    
+    // Desde que está en memoria la partida se guarda con el flush de GameSessionStore: se separa del
+    // contexto de persistencia para que esta transacción no la escriba por su cuenta al confirmar
+    // (y no choque con el archivador, que puede haber borrado ya la fila)
+    private GameInProgress keepInMemory(GameInProgress gameInProgress) {
+        gameInProgressRepository.detach(gameInProgress);
+        return gameSessionStore.putIfAbsent(gameInProgress);
+    }
+    
+    private GameResponseDTO buildResponseFromGameInProgress(GameInProgress gameInProgress) {
+        GameResponseDTO response = new GameResponseDTO();
+        response.setIdPartida(gameInProgress.getId());
+        response.setPalabraOculta(new String(GameRules.hiddenWord(gameInProgress)));
+        response.setLetrasIntentadas(LetterMask.toList(gameInProgress.getLetrasIntentadas()));
+        response.setIntentosRestantes(gameInProgress.getIntentosRestantes());
+        response.setPalabraCompleta(GameRules.isWordComplete(gameInProgress));
+        response.setPuntajeAcumulado(GameRules.score(gameInProgress));
         
+        return response;
+    }
+    
+    private Game buildGame(Player player, Word word, boolean ganado, int puntaje) {
         Game game = new Game();
         game.setJugador(player);
         game.setPalabra(word);
         game.setResultado(ganado ? "GANADO" : "PERDIDO");
         game.setPuntaje(puntaje);
         game.setFechaPartida(LocalDateTime.now());
-        gameRepository.save(game);
+        return game;
     }
     
-    public List<GameDTO> getGamesByPlayer(Long playerId) {
-        return gameRepository.findByJugadorId(playerId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-    }
-    
-    public List<GameDTO> getAllGames() {
-        return gameRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    // De la más reciente a la más vieja; after es el cursor "siguiente" de la página anterior
+    public PageDTO<GameDTO> getGamesByPlayer(Long playerId, String after, int limit) {
+        Limit filas = Keyset.limit(limit);
+        List<GameDTO> games;
+        if (after == null) {
+            games = gameRepository.findByJugadorId(playerId, filas);
+        } else {
+            Keyset.FechaId desde = Keyset.decode(after);
+            games = gameRepository.findByJugadorIdBefore(playerId, desde.fecha(), desde.id(), filas);
+        }
+        return Keyset.page(games, limit, Function.identity(), g -> Keyset.encode(g.getFechaPartida(), g.getId()));
     }
     
-    private GameDTO toDTO(Game game) {
-        GameDTO dto = new GameDTO();
-        dto.setId(game.getId());
-        dto.setIdJugador(game.getJugador().getId());
-        dto.setNombreJugador(game.getJugador().getNombre());
-        dto.setResultado(game.getResultado());
-        dto.setPuntaje(game.getPuntaje());
-        dto.setFechaPartida(game.getFechaPartida());
-        dto.setPalabra(game.getPalabra() != null ? game.getPalabra().getPalabra() : null);
-        return dto;
+    // Por id; after es el id de la última partida recibida
+    public PageDTO<GameDTO> getAllGames(Long after, int limit) {
+        List<GameDTO> games = gameRepository.findByIdGreaterThanOrderById(after != null ? after : 0L, Keyset.limit(limit));
+        return Keyset.page(games, limit, Function.identity(), g -> g.getId().toString());
     }
 }
-
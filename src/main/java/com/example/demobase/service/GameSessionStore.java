@@ -0,0 +1,210 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.repository.GameInProgressRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene en memoria las partidas en curso, indexadas por id de partida y con la más reciente
+ * de cada jugador, y las persiste en games_in_progress en lotes (write-behind) cada cierto
+ * intervalo y al apagar. Las partidas sin actividad se descargan de memoria después de persistirse.
+ */
+@Slf4j
+@Component
+public class GameSessionStore {
+
+    private final GameInProgressRepository gameInProgressRepository;
+    private final PlayerLocks playerLocks;
+
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> latestByPlayer = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Value("${game.session.idle-timeout-ms:1800000}")
+    private long idleTimeoutMs = 1800000;
+
+    public GameSessionStore(GameInProgressRepository gameInProgressRepository,
+                            PlayerLocks playerLocks,
+                            MeterRegistry meterRegistry) {
+        this.gameInProgressRepository = gameInProgressRepository;
+        this.playerLocks = playerLocks;
+
+        Gauge.builder("game.sessions.active", sessions, Map::size)
+                .description("Partidas en curso en memoria")
+                .register(meterRegistry);
+    }
+
+    public Optional<GameInProgress> get(Long gameId) {
+        Session session = sessions.get(gameId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        session.touch();
+        return Optional.of(session.game);
+    }
+
+    public Optional<GameInProgress> getLatestForPlayer(Long playerId) {
+        Long gameId = latestByPlayer.get(playerId);
+        return gameId == null ? Optional.empty() : get(gameId);
+    }
+
+    // Agrega la partida si no estaba en memoria; devuelve la instancia que queda en memoria,
+    // que puede tener cambios más nuevos que la leída de la base
+    public GameInProgress putIfAbsent(GameInProgress gameInProgress) {
+        Session session = sessions.computeIfAbsent(gameInProgress.getId(), id -> new Session(gameInProgress));
+        session.touch();
+        latestByPlayer.merge(gameInProgress.getJugador().getId(), session.game.getId(), this::mostRecent);
+        return session.game;
+    }
+
+    public void markDirty(Long gameId) {
+        if (sessions.containsKey(gameId)) {
+            dirty.add(gameId);
+        }
+    }
+
+    public void remove(GameInProgress gameInProgress) {
+        dirty.remove(gameInProgress.getId());
+        sessions.remove(gameInProgress.getId());
+        latestByPlayer.remove(gameInProgress.getJugador().getId(), gameInProgress.getId());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${game.session.flush-interval-ms:5000}")
+    public void flush() {
+        if (!dirty.isEmpty()) {
+            persistDirty();
+        }
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persistDirty();
+    }
+
+    // Se guarda una copia tomada bajo el lock del jugador, así el guardado en lote no bloquea
+    // las jugadas y nunca persiste un estado a medio actualizar. Cada fila se actualiza por
+    // versión: una partida archivada mientras tanto no hace fallar al resto del lote
+    private void persistDirty() {
+        List<GameInProgress> vivas = new ArrayList<>();
+        List<GameInProgress> copias = new ArrayList<>();
+        for (Long gameId : dirty) {
+            dirty.remove(gameId);
+            Session session = sessions.get(gameId);
+            if (session != null) {
+                vivas.add(session.game);
+                copias.add(playerLocks.withLock(session.game.getJugador().getId(), () -> snapshot(session.game)));
+            }
+        }
+
+        if (copias.isEmpty()) {
+            return;
+        }
+
+        int[] filas;
+        try {
+            filas = gameInProgressRepository.updateStates(copias);
+        } catch (RuntimeException e) {
+            // Se vuelven a marcar para reintentar en el próximo ciclo
+            vivas.forEach(g -> markDirty(g.getId()));
+            log.warn("No se pudieron persistir {} partidas en curso: {}", copias.size(), e.getMessage());
+            return;
+        }
+
+        int descartadas = 0;
+        for (int i = 0; i < vivas.size(); i++) {
+            GameInProgress viva = vivas.get(i);
+            if (filas[i] == 0) {
+                // La fila se borró (partida archivada) o la cambió otra escritura: no se reintenta
+                descartadas++;
+                continue;
+            }
+            // La versión nueva vuelve a la partida en memoria para el próximo guardado
+            long version = copias.get(i).getVersion() + 1;
+            playerLocks.withLock(viva.getJugador().getId(), () -> {
+                viva.setVersion(version);
+                return null;
+            });
+        }
+        log.debug("Persistidas {} partidas en curso ({} ya no estaban en la base)", copias.size() - descartadas, descartadas);
+    }
+
+    private static GameInProgress snapshot(GameInProgress gameInProgress) {
+        GameInProgress copia = new GameInProgress();
+        copia.setId(gameInProgress.getId());
+        copia.setJugador(gameInProgress.getJugador());
+        copia.setPalabra(gameInProgress.getPalabra());
+        copia.setLetrasIntentadas(gameInProgress.getLetrasIntentadas());
+        copia.setIntentosRestantes(gameInProgress.getIntentosRestantes());
+        copia.setFechaInicio(gameInProgress.getFechaInicio());
+        copia.setVersion(gameInProgress.getVersion());
+        return copia;
+    }
+
+    // Descarga de memoria las partidas abandonadas que ya no tienen cambios pendientes;
+    // si se retoman, se vuelven a leer de la base. Se vuelve a mirar bajo el lock del jugador:
+    // una jugada que tomó la sesión mientras tanto la toca o la marca antes de soltarlo, y así
+    // no se pierde su letra
+    private void evictIdle() {
+        long limite = System.currentTimeMillis() - idleTimeoutMs;
+        for (Session session : sessions.values()) {
+            if (!isIdle(session, limite)) {
+                continue;
+            }
+            Long playerId = session.game.getJugador().getId();
+            playerLocks.withLock(playerId, () -> {
+                if (isIdle(session, limite) && sessions.remove(session.game.getId(), session)) {
+                    latestByPlayer.remove(playerId, session.game.getId());
+                }
+                return null;
+            });
+        }
+    }
+
+    private boolean isIdle(Session session, long limite) {
+        return session.lastAccess < limite && !dirty.contains(session.game.getId());
+    }
+
+    private Long mostRecent(Long actualId, Long nuevoId) {
+        Session actual = sessions.get(actualId);
+        Session nuevo = sessions.get(nuevoId);
+        if (actual == null || nuevo == null) {
+            return nuevo == null ? actualId : nuevoId;
+        }
+        LocalDateTime inicioActual = actual.game.getFechaInicio();
+        LocalDateTime inicioNuevo = nuevo.game.getFechaInicio();
+        return inicioActual == null || (inicioNuevo != null && !inicioNuevo.isBefore(inicioActual)) ? nuevoId : actualId;
+    }
+
+    private static final class Session {
+        private final GameInProgress game;
+        private volatile long lastAccess;
+
+        private Session(GameInProgress game) {
+            this.game = game;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
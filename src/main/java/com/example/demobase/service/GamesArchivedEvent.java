@@ -0,0 +1,10 @@
+package com.example.demobase.service;
+
+import java.util.Set;
+
+/**
+ * Se publica cuando un lote de partidas terminadas ya está guardado en games, con los jugadores
+ * cuyas estadísticas cambiaron.
+ */
+public record GamesArchivedEvent(Set<Long> playerIds) {
+}
@@ -0,0 +1,62 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.PageDTO;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginación por clave: cada página continúa después de la clave del último elemento de la
+ * anterior, así la base recorre solo el rango del índice que devuelve en lugar de saltear filas
+ * con OFFSET. Se pide un elemento de más para saber si hay página siguiente.
+ */
+public final class Keyset {
+
+    public static final int LIMITE_POR_DEFECTO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private Keyset() {
+    }
+
+    static Limit limit(int limit) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new RuntimeException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    static <E, T> PageDTO<T> page(List<E> filas, int limit, Function<E, T> toDTO, Function<E, String> cursor) {
+        boolean hayMas = filas.size() > limit;
+        List<E> pagina = hayMas ? filas.subList(0, limit) : filas;
+        List<T> elementos = new ArrayList<>(pagina.size());
+        pagina.forEach(fila -> elementos.add(toDTO.apply(fila)));
+        return new PageDTO<>(elementos, hayMas ? cursor.apply(pagina.get(pagina.size() - 1)) : null);
+    }
+
+    // Cursor opaco para listas ordenadas por (fecha, id)
+    static String encode(LocalDateTime fecha, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((fecha + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static FechaId decode(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new FechaId(LocalDateTime.parse(partes[0]), Long.valueOf(partes[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Cursor inválido: " + cursor);
+        }
+    }
+
+    record FechaId(LocalDateTime fecha, Long id) {
+    }
+}
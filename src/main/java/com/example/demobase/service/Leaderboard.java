@@ -0,0 +1,189 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.RankingDTO;
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.PlayerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Posiciones de todos los jugadores en memoria, ordenadas por puntaje total (de mayor a menor)
+ * y por id. Se arma con el historial al iniciar y se actualiza con cada partida terminada, así la
+ * posición de un jugador, los primeros K y los vecinos de un jugador se resuelven en O(log n).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Leaderboard implements SmartInitializingSingleton {
+
+    private static final int TAMANIO_CARGA = 1000;
+
+    // El mismo orden que la grilla de puntajes de la base
+    private static final Comparator<Posicion> ORDEN = Comparator
+            .comparingInt(Posicion::puntaje).reversed()
+            .thenComparing(Posicion::idJugador);
+
+    private final PlayerRepository playerRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RankTree<Posicion> arbol = new RankTree<>(ORDEN);
+    private final Map<Long, Posicion> posiciones = new HashMap<>();
+
+    // Después de crear todos los beans (data.sql ya se ejecutó) y antes de aceptar peticiones
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        int offset = 0;
+        lock.writeLock().lock();
+        try {
+            arbol.clear();
+            posiciones.clear();
+            List<ScoreboardDTO> pagina;
+            do {
+                pagina = playerRepository.findScoreboard(TAMANIO_CARGA, offset);
+                pagina.forEach(fila -> put(new Posicion(fila.getIdJugador(), fila.getNombreJugador(),
+                        fila.getPuntajeTotal(), fila.getPartidasJugadas(), fila.getPartidasGanadas(),
+                        fila.getPartidasPerdidas())));
+                offset += pagina.size();
+            } while (pagina.size() == TAMANIO_CARGA);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Ranking cargado con {} jugadores", offset);
+    }
+
+    // Dentro de una transacción los cambios se aplican recién cuando confirma
+    public void recordGame(Player jugador, boolean ganada, int puntaje) {
+        AfterCommit.run(() -> write(() -> {
+            Posicion actual = posiciones.get(jugador.getId());
+            Posicion nueva = actual == null
+                    ? new Posicion(jugador.getId(), jugador.getNombre(), 0, 0, 0, 0).sumar(ganada, puntaje)
+                    : actual.sumar(ganada, puntaje);
+            put(nueva);
+        }));
+    }
+
+    public void addPlayer(Player jugador) {
+        AfterCommit.run(() -> write(() -> {
+            if (!posiciones.containsKey(jugador.getId())) {
+                put(new Posicion(jugador.getId(), jugador.getNombre(), 0, 0, 0, 0));
+            }
+        }));
+    }
+
+    public void renamePlayer(Player jugador) {
+        AfterCommit.run(() -> write(() -> {
+            Posicion actual = posiciones.get(jugador.getId());
+            if (actual != null) {
+                put(new Posicion(actual.idJugador(), jugador.getNombre(), actual.puntaje(),
+                        actual.jugadas(), actual.ganadas(), actual.perdidas()));
+            }
+        }));
+    }
+
+    public void removePlayer(Long playerId) {
+        AfterCommit.run(() -> write(() -> {
+            Posicion actual = posiciones.remove(playerId);
+            if (actual != null) {
+                arbol.remove(actual);
+            }
+        }));
+    }
+
+    public Optional<RankingDTO> rank(Long playerId) {
+        lock.readLock().lock();
+        try {
+            Posicion posicion = posiciones.get(playerId);
+            return posicion == null ? Optional.empty() : Optional.of(toDTO(posicion, arbol.rank(posicion)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RankingDTO> top(int cantidad) {
+        lock.readLock().lock();
+        try {
+            return toDTOs(0, arbol.slice(0, cantidad));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Los vecinos hasta distancia jugadores por encima y por debajo, incluido el propio jugador
+    public Optional<List<RankingDTO>> around(Long playerId, int distancia) {
+        lock.readLock().lock();
+        try {
+            Posicion posicion = posiciones.get(playerId);
+            if (posicion == null) {
+                return Optional.empty();
+            }
+            int indice = arbol.rank(posicion);
+            int desde = Math.max(indice - distancia, 0);
+            return Optional.of(toDTOs(desde, arbol.slice(desde, indice - desde + distancia + 1)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return arbol.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Posicion posicion) {
+        Posicion anterior = posiciones.put(posicion.idJugador(), posicion);
+        if (anterior != null) {
+            arbol.remove(anterior);
+        }
+        arbol.insert(posicion);
+    }
+
+    private void write(Runnable cambio) {
+        lock.writeLock().lock();
+        try {
+            cambio.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<RankingDTO> toDTOs(int desde, List<Posicion> posiciones) {
+        List<RankingDTO> resultado = new ArrayList<>(posiciones.size());
+        for (int i = 0; i < posiciones.size(); i++) {
+            resultado.add(toDTO(posiciones.get(i), desde + i));
+        }
+        return resultado;
+    }
+
+    // Las posiciones se informan empezando en 1
+    private static RankingDTO toDTO(Posicion posicion, int indice) {
+        return new RankingDTO(indice + 1, posicion.idJugador(), posicion.nombre(), posicion.puntaje(),
+                posicion.jugadas(), posicion.ganadas(), posicion.perdidas());
+    }
+
+    private record Posicion(Long idJugador, String nombre, int puntaje, long jugadas, long ganadas, long perdidas) {
+
+        private Posicion sumar(boolean ganada, int puntos) {
+            return new Posicion(idJugador, nombre, puntaje + puntos, jugadas + 1,
+                    ganadas + (ganada ? 1 : 0), perdidas + (ganada ? 0 : 1));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.GameRepository;
+import com.example.demobase.repository.PlayerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Totales de cada jugador por día (puntaje, partidas, ganadas y perdidas). Las grillas semanales
+ * y mensuales se arman sumando los días del período, sin recorrer games. Se carga al iniciar con
+ * los días retenidos, se suma cada partida terminada y los días vencidos se descartan a diario.
+ */
+@Slf4j
+@Component
+public class PeriodScoreboard implements SmartInitializingSingleton {
+
+    // El mismo orden que la grilla de puntajes general
+    private static final Comparator<Map.Entry<Long, Totales>> ORDEN = Comparator
+            .comparingLong((Map.Entry<Long, Totales> e) -> e.getValue().puntaje()).reversed()
+            .thenComparing(Map.Entry::getKey);
+
+    private final GameRepository gameRepository;
+    private final PlayerRepository playerRepository;
+    private final int retentionDays;
+
+    private final Map<LocalDate, Map<Long, Totales>> dias = new ConcurrentHashMap<>();
+
+    public PeriodScoreboard(GameRepository gameRepository,
+                            PlayerRepository playerRepository,
+                            @Value("${game.scoreboard.retention-days:90}") int retentionDays) {
+        this.gameRepository = gameRepository;
+        this.playerRepository = playerRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(LocalDate.now());
+    }
+
+    public void load(LocalDate hoy) {
+        dias.clear();
+        gameRepository.findDailyTotalsSince(firstRetainedDay(hoy).atStartOfDay()).forEach(fila ->
+                add(fila.getDia(), fila.getIdJugador(), new Totales(fila.getPuntaje(), fila.getJugadas(),
+                        fila.getGanadas(), fila.getPerdidas())));
+        log.info("Puntajes por día cargados: {} días desde {}", dias.size(), firstRetainedDay(hoy));
+    }
+
+    public void recordGame(Game game) {
+        boolean ganada = "GANADO".equals(game.getResultado());
+        Totales totales = new Totales(game.getPuntaje(), 1, ganada ? 1 : 0, ganada ? 0 : 1);
+        LocalDate dia = game.getFechaPartida().toLocalDate();
+        Long playerId = game.getJugador().getId();
+        AfterCommit.run(() -> add(dia, playerId, totales));
+    }
+
+    @Scheduled(cron = "${game.scoreboard.purge-cron:0 5 0 * * *}")
+    public void purgeExpired() {
+        purge(LocalDate.now());
+    }
+
+    public void purge(LocalDate hoy) {
+        LocalDate primero = firstRetainedDay(hoy);
+        dias.keySet().removeIf(dia -> dia.isBefore(primero));
+    }
+
+    // Suma los días entre desde y hasta (inclusive) y pagina como la grilla general
+    public List<ScoreboardDTO> find(LocalDate desde, LocalDate hasta, int limit, int offset) {
+        if (desde.isBefore(firstRetainedDay(LocalDate.now()))) {
+            throw new RuntimeException("Solo se guardan los puntajes de los últimos " + retentionDays + " días");
+        }
+
+        Map<Long, Totales> suma = new HashMap<>();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            Map<Long, Totales> delDia = dias.get(dia);
+            if (delDia != null) {
+                delDia.forEach((playerId, totales) -> suma.merge(playerId, totales, Totales::sumar));
+            }
+        }
+
+        List<Map.Entry<Long, Totales>> pagina = suma.entrySet().stream()
+                .sorted(ORDEN)
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+
+        // Los nombres se buscan solo para la página, en una consulta
+        Map<Long, String> nombres = playerRepository.findAllById(pagina.stream().map(Map.Entry::getKey).toList())
+                .stream()
+                .collect(Collectors.toMap(Player::getId, Player::getNombre));
+
+        List<ScoreboardDTO> resultado = new ArrayList<>(pagina.size());
+        for (Map.Entry<Long, Totales> fila : pagina) {
+            Totales totales = fila.getValue();
+            resultado.add(new ScoreboardDTO(fila.getKey(), nombres.get(fila.getKey()), (int) totales.puntaje(),
+                    totales.jugadas(), totales.ganadas(), totales.perdidas()));
+        }
+        return resultado;
+    }
+
+    public int days() {
+        return dias.size();
+    }
+
+    private void add(LocalDate dia, Long playerId, Totales totales) {
+        dias.computeIfAbsent(dia, d -> new ConcurrentHashMap<>()).merge(playerId, totales, Totales::sumar);
+    }
+
+    private LocalDate firstRetainedDay(LocalDate hoy) {
+        return hoy.minusDays(retentionDays - 1L);
+    }
+
+    private record Totales(long puntaje, long jugadas, long ganadas, long perdidas) {
+
+        private Totales sumar(Totales otros) {
+            return new Totales(puntaje + otros.puntaje, jugadas + otros.jugadas,
+                    ganadas + otros.ganadas, perdidas + otros.perdidas);
+        }
+    }
+}
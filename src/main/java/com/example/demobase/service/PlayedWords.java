@@ -0,0 +1,65 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.PlayerWords;
+import com.example.demobase.repository.PlayerWordsRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+
+/**
+ * Palabras que ya jugó cada jugador, como conjunto de bits indexado por id de palabra. Se guarda
+ * una fila por jugador en player_words y se mantiene en caché acotada por memoria, así elegir
+ * palabra no consulta la base y empezar una partida escribe solo la fila del propio jugador.
+ */
+@Component
+public class PlayedWords {
+
+    // Lo que ocupa el objeto BitSet además de su arreglo de bits
+    private static final int BYTES_FIJOS = 64;
+
+    private final PlayerWordsRepository playerWordsRepository;
+    private final LoadingCache<Long, BitSet> jugadores;
+
+    public PlayedWords(PlayerWordsRepository playerWordsRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${game.words.played-cache.maximum-weight-bytes:67108864}") long maximumWeightBytes) {
+        this.playerWordsRepository = playerWordsRepository;
+        this.jugadores = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((Long playerId, BitSet palabras) -> BYTES_FIJOS + palabras.size() / 8)
+                .recordStats()
+                .build(playerId -> playerWordsRepository.findById(playerId)
+                        .map(PlayerWords::getPalabras)
+                        .orElseGet(BitSet::new));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, jugadores, "words.played");
+    }
+
+    // Solo lectura: los cambios pasan por markPlayed
+    public BitSet get(Long playerId) {
+        return jugadores.get(playerId);
+    }
+
+    // Se llama con el lock del jugador tomado; la caché se actualiza cuando confirma la transacción
+    public void markPlayed(Long playerId, Long wordId) {
+        PlayerWords fila = playerWordsRepository.findById(playerId)
+                .orElseGet(() -> new PlayerWords(playerId, new BitSet(), null));
+        BitSet palabras = (BitSet) fila.getPalabras().clone();
+        palabras.set(Math.toIntExact(wordId));
+        fila.setPalabras(palabras);
+        playerWordsRepository.save(fila);
+        AfterCommit.run(() -> jugadores.put(playerId, palabras));
+    }
+
+    public void removePlayer(Long playerId) {
+        if (playerWordsRepository.existsById(playerId)) {
+            playerWordsRepository.deleteById(playerId);
+        }
+        AfterCommit.run(() -> jugadores.invalidate(playerId));
+    }
+}
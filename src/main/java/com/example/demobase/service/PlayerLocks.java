@@ -0,0 +1,57 @@
+package com.example.demobase.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Locks por jugador repartidos en un número fijo de franjas (striped locking): las peticiones
+ * de un mismo jugador se encolan en lugar de pisarse, y las de jugadores distintos casi nunca
+ * comparten lock. Dentro de una transacción el lock se libera recién cuando la transacción
+ * termina, para que la siguiente petición vea los cambios ya confirmados.
+ */
+@Component
+public class PlayerLocks {
+
+    private static final int FRANJAS = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[FRANJAS];
+
+    public PlayerLocks() {
+        for (int i = 0; i < FRANJAS; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long playerId, Supplier<T> action) {
+        Lock lock = acquire(playerId);
+        try {
+            return action.get();
+        } finally {
+            release(lock);
+        }
+    }
+
+    public Lock acquire(Long playerId) {
+        Lock lock = locks[Math.floorMod(Long.hashCode(playerId), FRANJAS)];
+        lock.lock();
+        return lock;
+    }
+
+    public void release(Lock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.PlayerDTO;
 import com.example.demobase.model.Player;
 import com.example.demobase.repository.PlayerRepository;
@@ -9,18 +10,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PlayerService {
     
     private final PlayerRepository playerRepository;
+    private final Leaderboard leaderboard;
+    private final ScoreboardCache scoreboardCache;
+    private final PlayedWords playedWords;
     
-    public List<PlayerDTO> getAllPlayers() {
-        return playerRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    // Por id; after es el id del último jugador recibido
+    public PageDTO<PlayerDTO> getAllPlayers(Long after, int limit) {
+        List<Player> players = playerRepository.findByIdGreaterThanOrderById(after != null ? after : 0L, Keyset.limit(limit));
+        return Keyset.page(players, limit, this::toDTO, p -> p.getId().toString());
     }
     
     public PlayerDTO getPlayerById(Long id) {
@@ -36,6 +39,8 @@ public class PlayerService {
         }
         Player player = toEntity(playerDTO);
         Player saved = playerRepository.save(player);
+        leaderboard.addPlayer(saved);
+        scoreboardCache.invalidatePlayer(saved.getId());
         return toDTO(saved);
     }
     
@@ -50,6 +55,8 @@ public class PlayerService {
         }
         
         Player updated = playerRepository.save(player);
+        leaderboard.renamePlayer(updated);
+        scoreboardCache.invalidatePlayer(id);
         return toDTO(updated);
     }
     
@@ -59,6 +66,9 @@ public class PlayerService {
             throw new RuntimeException("Jugador no encontrado con id: " + id);
         }
         playerRepository.deleteById(id);
+        playedWords.removePlayer(id);
+        leaderboard.removePlayer(id);
+        scoreboardCache.invalidatePlayer(id);
     }
     
     private PlayerDTO toDTO(Player player) {
@@ -0,0 +1,124 @@
+package com.example.demobase.service;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Sentencias SQL, filas devueltas por consultas y entidades cargadas desde la base en el hilo
+ * actual. Se apoya en las estadísticas de Hibernate: además de los totales globales, cada evento
+ * se suma a la medición abierta en el hilo. QueryStatsFilter mide así cada petición HTTP.
+ */
+@Component
+public class QueryStats implements HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Medicion> ACTUAL = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        hibernateProperties.put(AvailableSettings.STATS_BUILDER, (StatisticsFactory) PorHilo::new);
+        // Sin el resumen que Hibernate escribe en el log al cerrar cada sesión
+        hibernateProperties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+    }
+
+    // Empieza a contar en este hilo hasta cerrar la medición. Se pueden anidar: al cerrarse, la
+    // de adentro suma lo suyo a la de afuera
+    public static Medicion start() {
+        Medicion medicion = new Medicion(ACTUAL.get());
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    public static final class Medicion implements AutoCloseable {
+
+        private final Medicion anterior;
+        private long sentencias;
+        private long filas;
+        private long entidades;
+
+        private Medicion(Medicion anterior) {
+            this.anterior = anterior;
+        }
+
+        public long getSentencias() {
+            return sentencias;
+        }
+
+        public long getFilas() {
+            return filas;
+        }
+
+        public long getEntidades() {
+            return entidades;
+        }
+
+        @Override
+        public void close() {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                anterior.sentencias += sentencias;
+                anterior.filas += filas;
+                anterior.entidades += entidades;
+                ACTUAL.set(anterior);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return sentencias + " sentencias SQL, " + filas + " filas, " + entidades + " entidades";
+        }
+    }
+
+    // Estadísticas de Hibernate que además suman en la medición del hilo
+    private static final class PorHilo extends StatisticsImpl {
+
+        PorHilo(SessionFactoryImplementor sessionFactory) {
+            super(sessionFactory);
+        }
+
+        @Override
+        public void prepareStatement() {
+            super.prepareStatement();
+            Medicion medicion = ACTUAL.get();
+            if (medicion != null) {
+                medicion.sentencias++;
+            }
+        }
+
+        @Override
+        public void queryExecuted(String hql, int rows, long time) {
+            super.queryExecuted(hql, rows, time);
+            Medicion medicion = ACTUAL.get();
+            if (medicion != null) {
+                medicion.filas += rows;
+            }
+        }
+
+        // Por id (find) y por asociaciones o proxies (fetch); las que salen de la caché de segundo nivel no cuentan
+        @Override
+        public void loadEntity(String entityName) {
+            super.loadEntity(entityName);
+            countEntity();
+        }
+
+        @Override
+        public void fetchEntity(String entityName) {
+            super.fetchEntity(entityName);
+            countEntity();
+        }
+
+        private static void countEntity() {
+            Medicion medicion = ACTUAL.get();
+            if (medicion != null) {
+                medicion.entidades++;
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demobase.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Árbol ordenado (treap) en el que cada nodo guarda el tamaño de su subárbol, lo que permite
+ * obtener la posición de un elemento y el elemento en una posición en O(log n).
+ * No es seguro para uso concurrente: quien lo usa debe sincronizar los accesos.
+ */
+final class RankTree<T> {
+
+    private final Comparator<? super T> orden;
+    private final SplittableRandom random = new SplittableRandom();
+    private Nodo<T> raiz;
+
+    RankTree(Comparator<? super T> orden) {
+        this.orden = orden;
+    }
+
+    int size() {
+        return size(raiz);
+    }
+
+    void clear() {
+        raiz = null;
+    }
+
+    // Los elementos iguales según el orden no se repiten: se reemplaza el existente
+    void insert(T valor) {
+        remove(valor);
+        Nodo<T>[] partes = split(raiz, valor);
+        raiz = merge(merge(partes[0], new Nodo<>(valor, random.nextInt())), partes[1]);
+    }
+
+    boolean remove(T valor) {
+        int antes = size(raiz);
+        raiz = remove(raiz, valor);
+        return size(raiz) < antes;
+    }
+
+    // Cantidad de elementos anteriores a valor (su posición empezando en 0)
+    int rank(T valor) {
+        int menores = 0;
+        Nodo<T> nodo = raiz;
+        while (nodo != null) {
+            int cmp = orden.compare(valor, nodo.valor);
+            if (cmp <= 0) {
+                nodo = nodo.izquierdo;
+            } else {
+                menores += size(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return menores;
+    }
+
+    T get(int indice) {
+        if (indice < 0 || indice >= size(raiz)) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        Nodo<T> nodo = raiz;
+        while (true) {
+            int izquierdos = size(nodo.izquierdo);
+            if (indice < izquierdos) {
+                nodo = nodo.izquierdo;
+            } else if (indice == izquierdos) {
+                return nodo.valor;
+            } else {
+                indice -= izquierdos + 1;
+                nodo = nodo.derecho;
+            }
+        }
+    }
+
+    // Hasta cantidad elementos a partir de la posición desde, en orden. Solo recorre los
+    // subárboles que tocan el rango: O(log n + cantidad)
+    List<T> slice(int desde, int cantidad) {
+        int inicio = Math.max(desde, 0);
+        int fin = Math.min(desde + cantidad, size(raiz));
+        List<T> resultado = new ArrayList<>(Math.max(fin - inicio, 0));
+        if (inicio < fin) {
+            collect(raiz, 0, inicio, fin, resultado);
+        }
+        return resultado;
+    }
+
+    private void collect(Nodo<T> nodo, int base, int inicio, int fin, List<T> resultado) {
+        if (nodo == null) {
+            return;
+        }
+        int posicion = base + size(nodo.izquierdo);
+        if (inicio < posicion) {
+            collect(nodo.izquierdo, base, inicio, fin, resultado);
+        }
+        if (posicion >= inicio && posicion < fin) {
+            resultado.add(nodo.valor);
+        }
+        if (posicion + 1 < fin) {
+            collect(nodo.derecho, posicion + 1, inicio, fin, resultado);
+        }
+    }
+
+    private Nodo<T> remove(Nodo<T> nodo, T valor) {
+        if (nodo == null) {
+            return null;
+        }
+        int cmp = orden.compare(valor, nodo.valor);
+        if (cmp == 0) {
+            return merge(nodo.izquierdo, nodo.derecho);
+        }
+        if (cmp < 0) {
+            nodo.izquierdo = remove(nodo.izquierdo, valor);
+        } else {
+            nodo.derecho = remove(nodo.derecho, valor);
+        }
+        nodo.actualizar();
+        return nodo;
+    }
+
+    // Separa en los elementos menores que valor y los mayores o iguales
+    @SuppressWarnings("unchecked")
+    private Nodo<T>[] split(Nodo<T> nodo, T valor) {
+        if (nodo == null) {
+            return new Nodo[]{null, null};
+        }
+        if (orden.compare(nodo.valor, valor) < 0) {
+            Nodo<T>[] partes = split(nodo.derecho, valor);
+            nodo.derecho = partes[0];
+            nodo.actualizar();
+            partes[0] = nodo;
+            return partes;
+        }
+        Nodo<T>[] partes = split(nodo.izquierdo, valor);
+        nodo.izquierdo = partes[1];
+        nodo.actualizar();
+        partes[1] = nodo;
+        return partes;
+    }
+
+    // Une dos árboles donde todos los elementos de a son menores que los de b
+    private Nodo<T> merge(Nodo<T> a, Nodo<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            a.derecho = merge(a.derecho, b);
+            a.actualizar();
+            return a;
+        }
+        b.izquierdo = merge(a, b.izquierdo);
+        b.actualizar();
+        return b;
+    }
+
+    private static int size(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+
+    private static final class Nodo<T> {
+        private final T valor;
+        private final int prioridad;
+        private int tamanio = 1;
+        private Nodo<T> izquierdo;
+        private Nodo<T> derecho;
+
+        private Nodo(T valor, int prioridad) {
+            this.valor = valor;
+            this.prioridad = prioridad;
+        }
+
+        private void actualizar() {
+            tamanio = 1 + size(izquierdo) + size(derecho);
+        }
+    }
+}
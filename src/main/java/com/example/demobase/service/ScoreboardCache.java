@@ -0,0 +1,76 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.repository.PlayerRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caché de la grilla de puntajes (por página y por jugador). Los pedidos simultáneos de una misma
+ * entrada que no está en caché esperan una sola consulta, y las entradas se recalculan en segundo
+ * plano antes de vencer. Al archivarse partidas se descartan las páginas y los jugadores afectados.
+ */
+@Component
+public class ScoreboardCache {
+
+    private final LoadingCache<Pagina, List<ScoreboardDTO>> paginas;
+    private final LoadingCache<Long, Optional<ScoreboardDTO>> jugadores;
+
+    public ScoreboardCache(PlayerRepository playerRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${game.scoreboard.cache.expire-after-write-ms:60000}") long expireAfterWriteMs,
+                           @Value("${game.scoreboard.cache.refresh-after-write-ms:30000}") long refreshAfterWriteMs,
+                           @Value("${game.scoreboard.cache.maximum-size:1000}") long maximumSize) {
+        this.paginas = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .refreshAfterWrite(Duration.ofMillis(refreshAfterWriteMs))
+                .recordStats()
+                .build(pagina -> List.copyOf(playerRepository.findScoreboard(pagina.limit(), pagina.offset())));
+        this.jugadores = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .refreshAfterWrite(Duration.ofMillis(refreshAfterWriteMs))
+                .recordStats()
+                .build(playerRepository::findScoreboardByPlayer);
+
+        // cache.gets (result=hit|miss), cache.evictions, cache.size, ... con tag cache
+        CaffeineCacheMetrics.monitor(meterRegistry, paginas, "scoreboard.pages");
+        CaffeineCacheMetrics.monitor(meterRegistry, jugadores, "scoreboard.players");
+    }
+
+    public List<ScoreboardDTO> page(int limit, int offset) {
+        return paginas.get(new Pagina(limit, offset));
+    }
+
+    public Optional<ScoreboardDTO> player(Long playerId) {
+        return jugadores.get(playerId);
+    }
+
+    // Cualquier partida nueva puede mover posiciones en todas las páginas
+    @EventListener
+    public void onGamesArchived(GamesArchivedEvent event) {
+        paginas.invalidateAll();
+        jugadores.invalidateAll(event.playerIds());
+    }
+
+    // Alta, cambio de nombre o baja de un jugador
+    public void invalidatePlayer(Long playerId) {
+        AfterCommit.run(() -> {
+            paginas.invalidateAll();
+            jugadores.invalidate(playerId);
+        });
+    }
+
+    private record Pagina(int limit, int offset) {
+    }
+}
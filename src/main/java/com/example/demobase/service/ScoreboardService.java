@@ -1,59 +1,88 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.RankingDTO;
 import com.example.demobase.dto.ScoreboardDTO;
-import com.example.demobase.model.Game;
-import com.example.demobase.model.Player;
-import com.example.demobase.repository.GameRepository;
-import com.example.demobase.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ScoreboardService {
     
-    private final PlayerRepository playerRepository;
-    private final GameRepository gameRepository;
+    public static final int LIMITE_POR_DEFECTO = 100;
+    public static final int VECINOS_POR_DEFECTO = 5;
+    private static final int LIMITE_MAXIMO = 1000;
     
-    public List<ScoreboardDTO> getScoreboard() {
-        return playerRepository.findAll().stream()
-                .map(this::calculatePlayerStats)
-                .sorted((a, b) -> b.getPuntajeTotal().compareTo(a.getPuntajeTotal()))
-                .collect(Collectors.toList());
+    private final Leaderboard leaderboard;
+    private final PeriodScoreboard periodScoreboard;
+    private final ScoreboardCache scoreboardCache;
+    private final GameMetrics gameMetrics;
+    
+    // Ordenado por puntaje total (de mayor a menor) y paginado en la base; cada página se guarda en caché
+    public List<ScoreboardDTO> getScoreboard(int limit, int offset) {
+        validatePaging(limit, offset);
+        return gameMetrics.timeScoreboard(GameMetrics.GENERAL, () -> scoreboardCache.page(limit, offset));
+    }
+    
+    // Grillas por período a partir de los totales diarios; sin fecha se toma el período actual
+    public List<ScoreboardDTO> getDailyScoreboard(LocalDate fecha, int limit, int offset) {
+        LocalDate dia = fecha != null ? fecha : LocalDate.now();
+        return getPeriodScoreboard(GameMetrics.DIARIA, dia, dia, limit, offset);
+    }
+    
+    // Semanas de lunes a domingo
+    public List<ScoreboardDTO> getWeeklyScoreboard(LocalDate fecha, int limit, int offset) {
+        LocalDate lunes = (fecha != null ? fecha : LocalDate.now()).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getPeriodScoreboard(GameMetrics.SEMANAL, lunes, lunes.plusDays(6), limit, offset);
+    }
+    
+    public List<ScoreboardDTO> getMonthlyScoreboard(LocalDate fecha, int limit, int offset) {
+        LocalDate dia = fecha != null ? fecha : LocalDate.now();
+        return getPeriodScoreboard(GameMetrics.MENSUAL, dia.withDayOfMonth(1), dia.with(TemporalAdjusters.lastDayOfMonth()), limit, offset);
+    }
+    
+    private List<ScoreboardDTO> getPeriodScoreboard(String consulta, LocalDate desde, LocalDate hasta, int limit, int offset) {
+        validatePaging(limit, offset);
+        return gameMetrics.timeScoreboard(consulta, () -> periodScoreboard.find(desde, hasta, limit, offset));
+    }
+    
+    private void validatePaging(int limit, int offset) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new RuntimeException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        if (offset < 0) {
+            throw new RuntimeException("El desplazamiento no puede ser negativo");
+        }
     }
     
     public ScoreboardDTO getScoreboardByPlayer(Long playerId) {
-        Player player = playerRepository.findById(playerId)
+        return gameMetrics.timeScoreboard(GameMetrics.JUGADOR, () -> scoreboardCache.player(playerId))
+                .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
+    }
+    
+    // Las consultas de posiciones se resuelven con el ranking en memoria, sin ir a la base
+    public RankingDTO getRanking(Long playerId) {
+        return gameMetrics.timeScoreboard(GameMetrics.RANKING, () -> leaderboard.rank(playerId))
+                .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
+    }
+    
+    public List<RankingDTO> getTop(int k) {
+        if (k < 1 || k > LIMITE_MAXIMO) {
+            throw new RuntimeException("La cantidad debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        return gameMetrics.timeScoreboard(GameMetrics.TOP, () -> leaderboard.top(k));
+    }
+    
+    public List<RankingDTO> getAround(Long playerId, int n) {
+        if (n < 0 || n > LIMITE_MAXIMO / 2) {
+            throw new RuntimeException("La cantidad de vecinos debe estar entre 0 y " + LIMITE_MAXIMO / 2);
+        }
+        return gameMetrics.timeScoreboard(GameMetrics.VECINOS, () -> leaderboard.around(playerId, n))
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
-        return calculatePlayerStats(player);
-    }
-    
-    private ScoreboardDTO calculatePlayerStats(Player player) {
-        List<Game> games = gameRepository.findByJugador(player);
-        
-        int puntajeTotal = games.stream()
-                .mapToInt(Game::getPuntaje)
-                .sum();
-        
-        long partidasGanadas = games.stream()
-                .filter(g -> "GANADO".equals(g.getResultado()))
-                .count();
-        
-        long partidasPerdidas = games.stream()
-                .filter(g -> "PERDIDO".equals(g.getResultado()))
-                .count();
-        
-        return new ScoreboardDTO(
-                player.getId(),
-                player.getNombre(),
-                puntajeTotal,
-                (long) games.size(),
-                partidasGanadas,
-                partidasPerdidas
-        );
     }
 }
-
@@ -0,0 +1,75 @@
+package com.example.demobase.service;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caché de segundo nivel de Hibernate para Word y Player, que se leen en cada partida y casi no
+ * cambian. Las regiones se crean acá con tamaño máximo (Caffeine descarta las menos usadas) y
+ * Hibernate no arranca si una entidad pide una región que no está creada, así ninguna queda sin
+ * límite. Los aciertos y fallos se publican como cache.gets con la región como nombre de caché.
+ */
+@Component
+public class SecondLevelCache implements HibernatePropertiesCustomizer {
+
+    // Regiones de las entidades, con el nombre de su tabla
+    static final String PALABRAS = "words";
+    static final String JUGADORES = "players";
+    // Regiones de la caché de consultas, con los nombres por defecto de Hibernate
+    static final String CONSULTAS = "default-query-results-region";
+    static final String MODIFICACIONES = "default-update-timestamps-region";
+
+    // Una entrada por tabla: no se descarta nunca en la práctica
+    private static final long MODIFICACIONES_MAXIMAS = 1000;
+
+    private final CacheManager cacheManager;
+
+    public SecondLevelCache(MeterRegistry meterRegistry,
+                            @Value("${game.cache.words.maximum-size:100000}") long palabras,
+                            @Value("${game.cache.players.maximum-size:10000}") long jugadores,
+                            @Value("${game.cache.queries.maximum-size:1000}") long consultas) {
+        // URI propia: cada contexto de Spring en la JVM (por ejemplo en los tests) tiene sus regiones.
+        // Hibernate cierra el CacheManager al cerrar la SessionFactory
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("demobase-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        create(meterRegistry, PALABRAS, palabras);
+        create(meterRegistry, JUGADORES, jugadores);
+        create(meterRegistry, CONSULTAS, consultas);
+        create(meterRegistry, MODIFICACIONES, MODIFICACIONES_MAXIMAS);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    }
+
+    private void create(MeterRegistry meterRegistry, String region, long maximo) {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setMaximumSize(OptionalLong.of(maximo));
+        // Hibernate ya guarda copias desarmadas de las entidades: no hace falta copiar otra vez
+        configuracion.setStoreByValue(false);
+        configuracion.setStatisticsEnabled(true);
+        Cache<Object, Object> cache = cacheManager.createCache(region, configuracion);
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
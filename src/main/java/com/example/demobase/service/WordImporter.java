@@ -0,0 +1,141 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.WordImportDTO;
+import com.example.demobase.model.LetterMask;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Importa un diccionario de texto (una palabra por línea) a words. El archivo se lee línea por
+ * línea y se procesa en lotes: por cada lote se consultan las palabras que ya existen y el resto
+ * se inserta con un batch JDBC, así la memoria usada depende del tamaño de lote y no del archivo.
+ */
+@Slf4j
+@Component
+public class WordImporter {
+
+    private static final String INSERT = "INSERT INTO words (palabra, version) VALUES (?, 0)";
+    private static final int LINEAS_POR_AVISO = 100_000;
+    // Largo de la columna palabra
+    private static final int LARGO_MAXIMO = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WordPool wordPool;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+
+    public WordImporter(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        WordPool wordPool,
+                        EntityManagerFactory entityManagerFactory,
+                        @Value("${game.words.import-batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.wordPool = wordPool;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    public WordImportDTO importWords(InputStream entrada) throws IOException {
+        long inicio = System.currentTimeMillis();
+        long leidas = 0;
+        long descartadas = 0;
+        long insertadas = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        Set<String> lote = new LinkedHashSet<>();
+        String linea;
+        while ((linea = reader.readLine()) != null) {
+            leidas++;
+            String palabra = normalize(linea);
+            if (palabra == null) {
+                descartadas++;
+            } else {
+                lote.add(palabra);
+                if (lote.size() == batchSize) {
+                    insertadas += insertBatch(lote);
+                    lote.clear();
+                }
+            }
+            if (leidas % LINEAS_POR_AVISO == 0) {
+                log.info("Importación de palabras: {} líneas leídas, {} palabras nuevas", leidas, insertadas);
+            }
+        }
+        if (!lote.isEmpty()) {
+            insertadas += insertBatch(lote);
+        }
+
+        // Las palabras nuevas entran al mazo de inmediato. Los inserts por JDBC no pasan por Hibernate,
+        // así que las páginas de palabras guardadas en la caché de consultas se descartan a mano
+        if (insertadas > 0) {
+            entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+            wordPool.reload();
+        }
+        long milisegundos = System.currentTimeMillis() - inicio;
+        log.info("Importación de palabras terminada: {} líneas, {} nuevas, {} descartadas en {} ms",
+                leidas, insertadas, descartadas, milisegundos);
+        return new WordImportDTO(leidas, insertadas, leidas - descartadas - insertadas, descartadas, milisegundos);
+    }
+
+    // Inserta las palabras del lote que todavía no están en la tabla
+    private int insertBatch(Set<String> lote) {
+        Integer insertadas = transactionTemplate.execute(status -> {
+            List<String> palabras = new ArrayList<>(lote);
+            String marcadores = String.join(",", Collections.nCopies(palabras.size(), "?"));
+            Set<String> existentes = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT palabra FROM words WHERE palabra IN (" + marcadores + ")", String.class, palabras.toArray()));
+            palabras.removeIf(existentes::contains);
+            jdbcTemplate.batchUpdate(INSERT, palabras, palabras.size(), (ps, palabra) -> ps.setString(1, palabra));
+            return palabras.size();
+        });
+        return insertadas != null ? insertadas : 0;
+    }
+
+    // Mayúsculas y sin tildes (la Ñ se conserva); null si la línea no es una palabra adivinable
+    static String normalize(String linea) {
+        String palabra = linea.strip().toUpperCase(Locale.ROOT);
+        if (palabra.isEmpty() || palabra.length() > LARGO_MAXIMO) {
+            return null;
+        }
+        StringBuilder resultado = new StringBuilder(palabra.length());
+        for (int i = 0; i < palabra.length(); i++) {
+            char c = sinTilde(palabra.charAt(i));
+            if (!LetterMask.isLetter(c)) {
+                return null;
+            }
+            resultado.append(c);
+        }
+        return resultado.toString();
+    }
+
+    private static char sinTilde(char c) {
+        return switch (c) {
+            case 'Á' -> 'A';
+            case 'É' -> 'E';
+            case 'Í' -> 'I';
+            case 'Ó' -> 'O';
+            case 'Ú', 'Ü' -> 'U';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.WordDTO;
+import com.example.demobase.model.Dificultad;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.WordRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Ids de todas las palabras en memoria, agrupados por dificultad y largo. Las estadísticas de cada
+ * palabra se calculan una vez al cargar, así cada partida elige su palabra sin ORDER BY RAND()
+ * sobre la tabla ni cálculos por pedido. Las palabras que ya jugó cada jugador las lleva PlayedWords.
+ */
+@Slf4j
+@Component
+public class WordPool {
+
+    // Palabras al azar que se prueban antes de recorrer los mazos en orden
+    private static final int INTENTOS_AL_AZAR = 32;
+
+    private final WordRepository wordRepository;
+
+    // Lock explícito en lugar de synchronized: reload() consulta la base y, con hilos virtuales,
+    // un bloque synchronized fija el hilo de plataforma mientras espera a JDBC. Solo lo toman las
+    // recargas: los mazos no cambian una vez armados y se leen sin lock
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Map<Dificultad, Map<Integer, Mazo>> mazos;
+
+    public WordPool(WordRepository wordRepository, MeterRegistry meterRegistry) {
+        this.wordRepository = wordRepository;
+
+        // Si el mazo todavía no se cargó, la primera lectura lo carga
+        Gauge.builder("game.words.available", this, WordPool::available)
+                .description("Palabras en el mazo para elegir al iniciar partidas")
+                .register(meterRegistry);
+    }
+
+    // Vuelve a cargar y clasificar las palabras (por ejemplo después de agregar palabras)
+    public int reload() {
+        lock.lock();
+        try {
+            List<WordDTO> palabras = wordRepository.findAllForPool();
+            List<WordStats> estadisticas = WordStats.compute(palabras);
+
+            // Cortes en los tercios del puntaje
+            double[] puntajes = estadisticas.parallelStream().mapToDouble(WordStats::puntaje).sorted().toArray();
+            double corteMedia = puntajes.length == 0 ? 0 : puntajes[puntajes.length / 3];
+            double corteDificil = puntajes.length == 0 ? 0 : puntajes[2 * puntajes.length / 3];
+
+            Map<Dificultad, Map<Integer, long[]>> ids = estadisticas.parallelStream()
+                    .collect(Collectors.groupingBy(s -> classify(s.puntaje(), corteMedia, corteDificil),
+                            () -> new EnumMap<>(Dificultad.class),
+                            Collectors.groupingBy(WordStats::largo, TreeMap::new,
+                                    Collectors.collectingAndThen(Collectors.toList(),
+                                            lista -> lista.stream().mapToLong(WordStats::id).toArray()))));
+
+            Map<Dificultad, Map<Integer, Mazo>> nuevos = new EnumMap<>(Dificultad.class);
+            ids.forEach((dificultad, porLargo) -> {
+                Map<Integer, Mazo> mazosPorLargo = new TreeMap<>();
+                porLargo.forEach((largo, deck) -> mazosPorLargo.put(largo, new Mazo(deck)));
+                nuevos.put(dificultad, mazosPorLargo);
+            });
+
+            mazos = nuevos;
+            log.info("Mazo de palabras cargado con {} palabras", palabras.size());
+            return palabras.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int available() {
+        int total = 0;
+        for (Map<Integer, Mazo> porLargo : loaded().values()) {
+            for (Mazo mazo : porLargo.values()) {
+                total += mazo.ids.length;
+            }
+        }
+        return total;
+    }
+
+    // Palabras por dificultad y largo
+    public Map<Dificultad, Map<Integer, Integer>> availableByDifficulty() {
+        Map<Dificultad, Map<Integer, Integer>> resultado = new EnumMap<>(Dificultad.class);
+        loaded().forEach((dificultad, porLargo) -> {
+            Map<Integer, Integer> cantidades = new TreeMap<>();
+            porLargo.forEach((largo, mazo) -> cantidades.put(largo, mazo.ids.length));
+            resultado.put(dificultad, cantidades);
+        });
+        return resultado;
+    }
+
+    // Una palabra al azar de la dificultad y el largo pedidos (null es cualquiera) que el jugador
+    // todavía no jugó. Primero se prueban algunas al azar; si el jugador ya vio casi todas las
+    // candidatas se recorren los mazos desde una palabra al azar
+    public Optional<Word> next(BitSet jugadas, Dificultad dificultad, Integer largo) {
+        Long id = pick(jugadas, dificultad, largo);
+        return id == null ? Optional.empty() : wordRepository.findById(id);
+    }
+
+    private Long pick(BitSet jugadas, Dificultad dificultad, Integer largo) {
+        // Sorteo entre los mazos que coinciden, proporcional a su tamaño: la palabra sale al
+        // azar entre todas las candidatas. Los mazos son pocos (tres dificultades por los
+        // largos posibles), así que cada sorteo no depende del tamaño del diccionario
+        List<Mazo> candidatos = matching(loaded(), dificultad, largo);
+        int candidatas = 0;
+        for (Mazo mazo : candidatos) {
+            candidatas += mazo.ids.length;
+        }
+        if (candidatas == 0) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int intento = 0; intento < INTENTOS_AL_AZAR; intento++) {
+            long id = at(candidatos, random.nextInt(candidatas));
+            if (!jugadas.get(Math.toIntExact(id))) {
+                return id;
+            }
+        }
+
+        // Si fallan todos, se recorre cada mazo desde una palabra al azar cruzando sus ids con las
+        // jugadas de a 64 bits: cada salto pasa de una vez una racha de jugadas o de ids de otros
+        // mazos, en lugar de mirar las palabras una por una. La última vuelta cubre el comienzo
+        // del mazo de partida
+        int posicion = random.nextInt(candidatas);
+        int primero = 0;
+        while (posicion >= candidatos.get(primero).ids.length) {
+            posicion -= candidatos.get(primero).ids.length;
+            primero++;
+        }
+        int desde = Math.toIntExact(candidatos.get(primero).ids[posicion]);
+        for (int i = 0; i <= candidatos.size(); i++) {
+            Mazo mazo = candidatos.get((primero + i) % candidatos.size());
+            int id = firstUnplayed(mazo.miembros, jugadas, i == 0 ? desde : 0);
+            if (id >= 0) {
+                return (long) id;
+            }
+        }
+        return null;
+    }
+
+    // Primer id del mazo desde el indicado que el jugador no jugó, o -1
+    private static int firstUnplayed(BitSet miembros, BitSet jugadas, int desde) {
+        int id = miembros.nextSetBit(desde);
+        while (id >= 0) {
+            int libre = jugadas.nextClearBit(id);
+            if (libre == id) {
+                return id;
+            }
+            id = miembros.nextSetBit(libre);
+        }
+        return -1;
+    }
+
+    // La primera vez carga los mazos; las siguientes devuelve los ya armados
+    private Map<Dificultad, Map<Integer, Mazo>> loaded() {
+        Map<Dificultad, Map<Integer, Mazo>> actuales = mazos;
+        if (actuales == null) {
+            lock.lock();
+            try {
+                if (mazos == null) {
+                    reload();
+                }
+                actuales = mazos;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return actuales;
+    }
+
+    private static long at(List<Mazo> candidatos, int posicion) {
+        for (Mazo mazo : candidatos) {
+            if (posicion < mazo.ids.length) {
+                return mazo.ids[posicion];
+            }
+            posicion -= mazo.ids.length;
+        }
+        throw new IndexOutOfBoundsException(posicion);
+    }
+
+    private static List<Mazo> matching(Map<Dificultad, Map<Integer, Mazo>> mazos, Dificultad dificultad, Integer largo) {
+        return mazos.entrySet().stream()
+                .filter(e -> dificultad == null || e.getKey() == dificultad)
+                .flatMap(e -> e.getValue().entrySet().stream())
+                .filter(e -> largo == null || e.getKey().equals(largo))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    private static Dificultad classify(double puntaje, double corteMedia, double corteDificil) {
+        if (puntaje < corteMedia) {
+            return Dificultad.FACIL;
+        }
+        return puntaje < corteDificil ? Dificultad.MEDIA : Dificultad.DIFICIL;
+    }
+
+    // Los ids del mazo también como conjunto de bits, para cruzarlos con las palabras jugadas
+    private record Mazo(long[] ids, BitSet miembros) {
+
+        private Mazo(long[] ids) {
+            this(ids, new BitSet());
+            for (long id : ids) {
+                miembros.set(Math.toIntExact(id));
+            }
+        }
+    }
+}
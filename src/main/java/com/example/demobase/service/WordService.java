@@ -1,28 +1,47 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.WordDTO;
+import com.example.demobase.dto.WordImportDTO;
+import com.example.demobase.model.Dificultad;
 import com.example.demobase.model.Word;
 import com.example.demobase.repository.WordRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class WordService {
     
     private final WordRepository wordRepository;
+    private final WordPool wordPool;
+    private final WordImporter wordImporter;
     
-    public List<WordDTO> getAllWords() {
-        return wordRepository.findAllOrdered().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    // Por id; after es el id de la última palabra recibida
+    public PageDTO<WordDTO> getAllWords(Long after, int limit) {
+        List<Word> words = wordRepository.findByIdGreaterThanOrderById(after != null ? after : 0L, Keyset.limit(limit));
+        return Keyset.page(words, limit, this::toDTO, w -> w.getId().toString());
+    }
+    
+    public Map<Dificultad, Map<Integer, Integer>> getAvailableWords() {
+        return wordPool.availableByDifficulty();
+    }
+    
+    public int reloadWordPool() {
+        return wordPool.reload();
+    }
+    
+    public WordImportDTO importWords(InputStream diccionario) throws IOException {
+        return wordImporter.importWords(diccionario);
     }
     
     private WordDTO toDTO(Word word) {
-        return new WordDTO(word.getId(), word.getPalabra(), word.getUtilizada());
+        return new WordDTO(word.getId(), word.getPalabra());
     }
 }
 
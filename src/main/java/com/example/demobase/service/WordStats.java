@@ -0,0 +1,51 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.WordDTO;
+import com.example.demobase.model.LetterMask;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Estadísticas de una palabra: largo, letras distintas y rareza (promedio de la rareza de sus
+ * letras distintas según cuántas palabras del diccionario las contienen). Se calculan juntas
+ * para todo el diccionario con streams paralelos.
+ */
+record WordStats(long id, int largo, int letrasDistintas, double rareza) {
+
+    // Más alto es más difícil: letras raras y pocas repeticiones (cada acierto revela menos)
+    double puntaje() {
+        return rareza * letrasDistintas / largo;
+    }
+
+    static List<WordStats> compute(List<WordDTO> palabras) {
+        int[] mascaras = palabras.parallelStream().mapToInt(w -> LetterMask.of(w.getPalabra())).toArray();
+        double[] rarezas = letterRarity(mascaras);
+        return IntStream.range(0, palabras.size()).parallel()
+                .mapToObj(i -> of(palabras.get(i), mascaras[i], rarezas))
+                .toList();
+    }
+
+    // -log2 de la proporción de palabras que contienen cada letra (suavizada para las que no aparecen)
+    static double[] letterRarity(int[] mascaras) {
+        double total = mascaras.length + 1.0;
+        return IntStream.range(0, LetterMask.ALFABETO.length()).parallel()
+                .mapToDouble(letra -> {
+                    int bit = 1 << letra;
+                    long conLetra = Arrays.stream(mascaras).filter(m -> (m & bit) != 0).count();
+                    return -Math.log((conLetra + 1.0) / total) / Math.log(2);
+                })
+                .toArray();
+    }
+
+    private static WordStats of(WordDTO palabra, int mascara, double[] rarezas) {
+        int distintas = Integer.bitCount(mascara);
+        double suma = 0;
+        for (int restantes = mascara; restantes != 0; restantes &= restantes - 1) {
+            suma += rarezas[Integer.numberOfTrailingZeros(restantes)];
+        }
+        return new WordStats(palabra.getId(), palabra.getPalabra().length(), distintas,
+                distintas == 0 ? 0 : suma / distintas);
+    }
+}
@@ -0,0 +1,6 @@
+-- Las secuencias de ids arrancan por encima del mayor id de su tabla: así no chocan con filas
+-- insertadas antes (con IDENTITY o a mano). Cada bloque de 50 ids termina en el valor pedido a la
+-- secuencia, por eso se suma el tamaño del bloque
+
+ALTER SEQUENCE games_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM games);
+ALTER SEQUENCE games_in_progress_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM games_in_progress);
@@ -0,0 +1,7 @@
+-- Las secuencias de ids arrancan por encima del mayor id de su tabla: así no chocan con filas
+-- insertadas antes (con IDENTITY o a mano). Hibernate emula cada secuencia con una tabla de una
+-- fila; cada bloque de 50 ids termina en next_val, por eso se suma el tamaño del bloque. Nunca se
+-- retrocede una secuencia que ya va más adelante
+
+UPDATE games_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM games));
+UPDATE games_in_progress_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM games_in_progress));
@@ -0,0 +1,29 @@
+package com.example.demobase;
+
+import com.example.demobase.service.QueryStats;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Máximo de sentencias SQL para una operación: ejecuta la acción midiendo en el hilo actual
+ * (ver QueryStats) y falla si pasó del máximo. Sirve con MockMvc, que atiende la petición en el
+ * mismo hilo del test, y con llamadas directas a los servicios.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static QueryStats.Medicion assertMaxStatements(long maximo, Executable accion) throws Throwable {
+        QueryStats.Medicion medicion = QueryStats.start();
+        try {
+            accion.execute();
+        } finally {
+            medicion.close();
+        }
+        assertTrue(medicion.getSentencias() <= maximo,
+                () -> "Se esperaban como máximo " + maximo + " sentencias SQL y hubo " + medicion);
+        return medicion;
+    }
+}
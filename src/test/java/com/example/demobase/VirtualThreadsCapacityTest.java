@@ -0,0 +1,159 @@
+package com.example.demobase;
+
+import com.example.demobase.repository.PlayerRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara cuántas peticiones que usan la base atiende la aplicación al mismo tiempo con hilos de
+ * plataforma y con hilos virtuales, y cuántas tienen a la vez una conexión del pool. Solo corre
+ * en Java 21 (mvn -Pjava21 test con un JDK 21).
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsCapacityTest {
+
+    private static final int PETICIONES = 1000;
+    private static final int HILOS_TOMCAT = 200;
+    private static final long CONSULTA_MS = 100;
+
+    private static final Maximo peticiones = new Maximo();
+    private static final Maximo conexiones = new Maximo();
+
+    @Test
+    void testCapacity_VirtualThreadsHoldMoreConcurrentRequests() throws Exception {
+        Capacidad plataforma = measure(false);
+        Capacidad virtuales = measure(true);
+
+        // Con hilos de plataforma el tope de peticiones es el pool de Tomcat; con hilos virtuales
+        // entran todas y el tope pasa a ser el pool de conexiones, más grande en ese modo
+        assertTrue(plataforma.peticiones() <= HILOS_TOMCAT);
+        assertTrue(virtuales.peticiones() > HILOS_TOMCAT);
+        assertEquals(20, plataforma.pool());
+        assertEquals(50, virtuales.pool());
+        assertTrue(plataforma.conexiones() <= plataforma.pool());
+        assertTrue(virtuales.conexiones() <= virtuales.pool());
+        assertTrue(virtuales.conexiones() > plataforma.pool());
+    }
+
+    private Capacidad measure(boolean hilosVirtuales) throws Exception {
+        peticiones.reset();
+        conexiones.reset();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemobaseApplication.class, ConsultaLentaConfig.class)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + HILOS_TOMCAT,
+                        "--server.tomcat.accept-count=" + PETICIONES,
+                        "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                        "--spring.datasource.url=jdbc:h2:mem:capacidad-" + hilosVirtuales,
+                        "--spring.jpa.show-sql=false")) {
+            int puerto = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URL url = URI.create("http://localhost:" + puerto + "/consulta-lenta").toURL();
+
+            // Un hilo cliente por petición, para que el límite lo ponga el servidor
+            ExecutorService clientes = Executors.newFixedThreadPool(PETICIONES);
+            try {
+                List<Future<Integer>> respuestas = new ArrayList<>();
+                for (int i = 0; i < PETICIONES; i++) {
+                    respuestas.add(clientes.submit(() -> {
+                        HttpURLConnection conexion = (HttpURLConnection) url.openConnection();
+                        try {
+                            return conexion.getResponseCode();
+                        } finally {
+                            conexion.disconnect();
+                        }
+                    }));
+                }
+                for (Future<Integer> respuesta : respuestas) {
+                    assertEquals(200, respuesta.get());
+                }
+            } finally {
+                clientes.shutdown();
+            }
+
+            int pool = context.getBean(HikariDataSource.class).getMaximumPoolSize();
+            return new Capacidad(peticiones.get(), conexiones.get(), pool);
+        }
+    }
+
+    private record Capacidad(int peticiones, int conexiones, int pool) {
+    }
+
+    private static final class Maximo {
+        private final AtomicInteger enCurso = new AtomicInteger();
+        private final AtomicInteger maximo = new AtomicInteger();
+
+        void enter() {
+            maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+        }
+
+        void exit() {
+            enCurso.decrementAndGet();
+        }
+
+        int get() {
+            return maximo.get();
+        }
+
+        void reset() {
+            enCurso.set(0);
+            maximo.set(0);
+        }
+    }
+
+    // Endpoint con una consulta lenta: la transacción tiene tomada una conexión del pool mientras espera
+    @TestConfiguration
+    static class ConsultaLentaConfig {
+
+        @Bean
+        RouterFunction<ServerResponse> consultaLenta(PlayerRepository playerRepository,
+                                                     PlatformTransactionManager transactionManager) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            return RouterFunctions.route()
+                    .GET("/consulta-lenta", request -> {
+                        peticiones.enter();
+                        try {
+                            long jugadores = transactionTemplate.execute(status -> {
+                                long cantidad = playerRepository.count();
+                                conexiones.enter();
+                                try {
+                                    Thread.sleep(CONSULTA_MS);
+                                    return cantidad;
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    throw new IllegalStateException(e);
+                                } finally {
+                                    conexiones.exit();
+                                }
+                            });
+                            return ServerResponse.ok().body(String.valueOf(jugadores));
+                        } finally {
+                            peticiones.exit();
+                        }
+                    })
+                    .build();
+        }
+    }
+}
@@ -2,27 +2,49 @@ package com.example.demobase.controller;
 
 import com.example.demobase.dto.GameDTO;
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GuessBatchRequestDTO;
+import com.example.demobase.dto.GuessBatchResponseDTO;
+import com.example.demobase.dto.GuessResultDTO;
+import com.example.demobase.dto.PageDTO;
+import com.example.demobase.model.Dificultad;
+import com.example.demobase.service.GameExporter;
+import com.example.demobase.service.GameMetrics;
 import com.example.demobase.service.GameService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(GameController.class)
+@Import({GameMetrics.class, SimpleMeterRegistry.class})
 class GameControllerTest {
 
     @Autowired
@@ -31,9 +53,15 @@ class GameControllerTest {
     @MockitoBean
     private GameService gameService;
 
+    @MockitoBean
+    private GameExporter gameExporter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void testStartGame() throws Exception {
         // Given
@@ -43,7 +71,8 @@ class GameControllerTest {
         response.setIntentosRestantes(7);
         response.setPalabraCompleta(false);
         response.setPuntajeAcumulado(0);
-        when(gameService.startGame(1L)).thenReturn(response);
+        when(gameService.startGame(1L, null, null)).thenReturn(response);
+        long inicios = timerCount("game.start");
 
         // When & Then
         mockMvc.perform(post("/api/games/start/1"))
@@ -53,7 +82,8 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.palabraCompleta").value(false))
                 .andExpect(jsonPath("$.puntajeAcumulado").value(0));
 
-        verify(gameService, times(1)).startGame(1L);
+        verify(gameService, times(1)).startGame(1L, null, null);
+        assertEquals(inicios + 1, timerCount("game.start"));
     }
 
     @Test
@@ -71,6 +101,7 @@ class GameControllerTest {
         request.put("letra", "P");
         
         when(gameService.makeGuess(eq(1L), eq('P'))).thenReturn(response);
+        long jugadas = timerCount("game.guess");
 
         // When & Then
         mockMvc.perform(post("/api/games/guess")
@@ -82,6 +113,106 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.letrasIntentadas[0]").value("P"));
 
         verify(gameService, times(1)).makeGuess(eq(1L), eq('P'));
+        assertEquals(jugadas + 1, timerCount("game.guess"));
+    }
+
+    @Test
+    void testMakeGuesses() throws Exception {
+        // Given
+        GameResponseDTO estado = new GameResponseDTO();
+        estado.setPalabraOculta("PRO_RA_A_OR");
+        estado.setLetrasIntentadas(Arrays.asList('A', 'O', 'P', 'R', 'X'));
+        estado.setIntentosRestantes(6);
+        estado.setPalabraCompleta(false);
+        estado.setPuntajeAcumulado(0);
+
+        GuessBatchResponseDTO response = new GuessBatchResponseDTO(Arrays.asList(
+                new GuessResultDTO('P', "CORRECTA"),
+                new GuessResultDTO('X', "INCORRECTA")), estado);
+
+        GuessBatchRequestDTO request = new GuessBatchRequestDTO(1L, null, Arrays.asList('P', 'X'));
+
+        when(gameService.makeGuesses(eq(1L), isNull(), eq(Arrays.asList('P', 'X')))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/games/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.resultados[0].letra").value("P"))
+                .andExpect(jsonPath("$.resultados[0].resultado").value("CORRECTA"))
+                .andExpect(jsonPath("$.resultados[1].resultado").value("INCORRECTA"))
+                .andExpect(jsonPath("$.estado.intentosRestantes").value(6));
+
+        verify(gameService, times(1)).makeGuesses(eq(1L), isNull(), eq(Arrays.asList('P', 'X')));
+    }
+
+    @Test
+    void testMakeGuesses_TooManyLetters() throws Exception {
+        // Given
+        GuessBatchRequestDTO request = new GuessBatchRequestDTO(1L, null, Arrays.asList('A', 'B'));
+        when(gameService.makeGuesses(eq(1L), isNull(), any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se pueden enviar más de 27 letras por lote"));
+        long lotes = timerCount("game.guess.batch");
+
+        // When & Then
+        mockMvc.perform(post("/api/games/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        // Then - El tiempo se registra también cuando la jugada falla
+        assertEquals(lotes + 1, timerCount("game.guess.batch"));
+    }
+
+    @Test
+    void testMakeGuessByGame() throws Exception {
+        // Given
+        GameResponseDTO response = new GameResponseDTO();
+        response.setIdPartida(5L);
+        response.setPalabraOculta("P__________");
+        response.setLetrasIntentadas(Arrays.asList('P'));
+        response.setIntentosRestantes(7);
+        response.setPalabraCompleta(false);
+        response.setPuntajeAcumulado(0);
+
+        when(gameService.makeGuessByGame(eq(5L), eq('P'))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/games/5/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("letra", "P"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.idPartida").value(5))
+                .andExpect(jsonPath("$.palabraOculta").value("P__________"));
+
+        verify(gameService, times(1)).makeGuessByGame(eq(5L), eq('P'));
+    }
+
+    @Test
+    void testSubscribe() throws Exception {
+        // Given
+        SseEmitter emitter = new SseEmitter();
+        when(gameService.subscribe(1L)).thenReturn(emitter);
+
+        GameResponseDTO estado = new GameResponseDTO();
+        estado.setIdPartida(5L);
+        estado.setPalabraOculta("P__________");
+        estado.setIntentosRestantes(7);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/games/1/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("estado").data(estado));
+        emitter.complete();
+
+        // Then
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:estado"));
+        assertTrue(body.contains("\"palabraOculta\":\"P__________\""));
+        verify(gameService, times(1)).subscribe(1L);
     }
 
     @Test
@@ -97,18 +228,19 @@ class GameControllerTest {
         game1.setPalabra("PROGRAMADOR");
 
         List<GameDTO> games = Arrays.asList(game1);
-        when(gameService.getAllGames()).thenReturn(games);
+        when(gameService.getAllGames(null, 100)).thenReturn(new PageDTO<>(games, "1"));
 
         // When & Then
         mockMvc.perform(get("/api/games"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].resultado").value("GANADO"))
-                .andExpect(jsonPath("$[0].puntaje").value(20));
+                .andExpect(jsonPath("$.elementos").isArray())
+                .andExpect(jsonPath("$.elementos[0].id").value(1))
+                .andExpect(jsonPath("$.elementos[0].resultado").value("GANADO"))
+                .andExpect(jsonPath("$.elementos[0].puntaje").value(20))
+                .andExpect(jsonPath("$.siguiente").value("1"));
 
-        verify(gameService, times(1)).getAllGames();
+        verify(gameService, times(1)).getAllGames(null, 100);
     }
 
     @Test
@@ -122,16 +254,61 @@ class GameControllerTest {
         game1.setPuntaje(20);
 
         List<GameDTO> games = Arrays.asList(game1);
-        when(gameService.getGamesByPlayer(1L)).thenReturn(games);
+        when(gameService.getGamesByPlayer(1L, "abc", 20)).thenReturn(new PageDTO<>(games, null));
 
         // When & Then
-        mockMvc.perform(get("/api/games/player/1"))
+        mockMvc.perform(get("/api/games/player/1").param("after", "abc").param("limit", "20"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].idJugador").value(1));
+                .andExpect(jsonPath("$.elementos").isArray())
+                .andExpect(jsonPath("$.elementos[0].idJugador").value(1));
 
-        verify(gameService, times(1)).getGamesByPlayer(1L);
+        verify(gameService, times(1)).getGamesByPlayer(1L, "abc", 20);
     }
-}
 
+    @Test
+    void testExportGames() throws Exception {
+        // Given
+        when(gameExporter.export(eq(1L), eq(LocalDate.of(2025, 3, 1)), isNull(), eq(GameExporter.Formato.CSV),
+                any(OutputStream.class))).thenAnswer(invocation -> {
+                    OutputStream salida = invocation.getArgument(4);
+                    salida.write("id,idJugador\n1,1\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        // When - La respuesta se escribe en segundo plano
+        MvcResult result = mockMvc.perform(get("/api/games/export")
+                        .param("formato", "csv")
+                        .param("playerId", "1")
+                        .param("desde", "2025-03-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"partidas.csv\""))
+                .andExpect(content().string("id,idJugador\n1,1\n"));
+    }
+
+    @Test
+    void testStartGame_WithDifficultyAndLength() throws Exception {
+        // Given
+        GameResponseDTO response = new GameResponseDTO();
+        response.setPalabraOculta("______");
+        response.setIntentosRestantes(7);
+        when(gameService.startGame(1L, Dificultad.DIFICIL, 6)).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/games/start/1").param("dificultad", "DIFICIL").param("largo", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.palabraOculta").value("______"));
+
+        verify(gameService, times(1)).startGame(1L, Dificultad.DIFICIL, 6);
+    }
+
+    private long timerCount(String nombre) {
+        return meterRegistry.get(nombre).timer().count();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.PlayerDTO;
 import com.example.demobase.service.PlayerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,19 +40,33 @@ class PlayerControllerTest {
                 new PlayerDTO(1L, "Juan Pérez", LocalDate.of(2025, 1, 15)),
                 new PlayerDTO(2L, "María García", LocalDate.of(2025, 1, 20))
         );
-        when(playerService.getAllPlayers()).thenReturn(players);
+        when(playerService.getAllPlayers(null, 100)).thenReturn(new PageDTO<>(players, "2"));
 
         // When & Then
         mockMvc.perform(get("/api/players"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].nombre").value("Juan Pérez"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].nombre").value("María García"));
+                .andExpect(jsonPath("$.elementos").isArray())
+                .andExpect(jsonPath("$.elementos[0].id").value(1))
+                .andExpect(jsonPath("$.elementos[0].nombre").value("Juan Pérez"))
+                .andExpect(jsonPath("$.elementos[1].id").value(2))
+                .andExpect(jsonPath("$.elementos[1].nombre").value("María García"))
+                .andExpect(jsonPath("$.siguiente").value("2"));
+
+        verify(playerService, times(1)).getAllPlayers(null, 100);
+    }
+
+    @Test
+    void testGetAllPlayers_AfterCursor() throws Exception {
+        // Given
+        when(playerService.getAllPlayers(2L, 10)).thenReturn(new PageDTO<>(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/players").param("after", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elementos").isEmpty());
 
-        verify(playerService, times(1)).getAllPlayers();
+        verify(playerService, times(1)).getAllPlayers(2L, 10);
     }
 
     @Test
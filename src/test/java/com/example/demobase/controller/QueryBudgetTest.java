@@ -0,0 +1,217 @@
+package com.example.demobase.controller;
+
+import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GuessBatchRequestDTO;
+import com.example.demobase.dto.PlayerDTO;
+import com.example.demobase.service.GameService;
+import com.example.demobase.service.PlayerService;
+import com.example.demobase.service.QueryStats;
+import com.example.demobase.service.WordPool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demobase.QueryBudget.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Máximo de sentencias SQL por operación de cada controlador, contra la base H2 real. Un N+1 o una
+ * consulta de más en cualquier endpoint hace fallar su test.
+ */
+// Base propia: el contexto con MockMvc es otro y volvería a cargar data.sql en la base compartida
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:presupuesto")
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private WordPool wordPool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private PlayerDTO player;
+
+    @BeforeEach
+    void setUp() {
+        // Un jugador propio por test y el mazo de palabras ya cargado, como en una aplicación en marcha
+        player = playerService.createPlayer(new PlayerDTO(null, "Presupuesto", LocalDate.now()));
+        wordPool.available();
+    }
+
+    // Jugadores
+
+    @Test
+    void testGetAllPlayers() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/players?limit=50")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetPlayerById() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/players/{id}", player.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testCreatePlayer() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(post("/api/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Nuevo\"}"))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void testUpdatePlayer() throws Throwable {
+        assertMaxStatements(2, () -> mockMvc.perform(put("/api/players/{id}", player.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Renombrado\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testDeletePlayer() throws Throwable {
+        assertMaxStatements(4, () -> mockMvc.perform(delete("/api/players/{id}", player.getId()))
+                .andExpect(status().isNoContent()));
+    }
+
+    // Partidas
+
+    @Test
+    void testStartGame() throws Throwable {
+        // Primera partida del jugador: jugador, palabras jugadas (dos veces: la caché y la fila a
+        // actualizar), palabra, partida en curso existente, secuencia y los dos inserts
+        assertMaxStatements(8, () -> mockMvc.perform(post("/api/games/start/{playerId}", player.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    // Las jugadas trabajan sobre el estado en memoria: la base se escribe en segundo plano
+    @Test
+    void testMakeGuess() throws Throwable {
+        gameService.startGame(player.getId());
+        assertMaxStatements(0, () -> mockMvc.perform(post("/api/games/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("idJugador", player.getId(), "letra", "A"))))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testMakeGuesses() throws Throwable {
+        gameService.startGame(player.getId());
+        GuessBatchRequestDTO request = new GuessBatchRequestDTO(player.getId(), null, List.of('A', 'E', 'I', 'O', 'U'));
+        assertMaxStatements(0, () -> mockMvc.perform(post("/api/games/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testMakeGuessByGame() throws Throwable {
+        GameResponseDTO partida = gameService.startGame(player.getId());
+        assertMaxStatements(0, () -> mockMvc.perform(post("/api/games/{gameId}/guess", partida.getIdPartida())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"letra\": \"A\"}"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetAllGames() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/games?limit=50")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetGamesByPlayer() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/games/player/{playerId}", player.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    // Puntajes
+
+    @Test
+    void testGetScoreboard() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/scoreboard")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetPeriodScoreboards() throws Throwable {
+        for (String periodo : List.of("daily", "weekly", "monthly")) {
+            assertMaxStatements(1, () -> mockMvc.perform(get("/api/scoreboard/" + periodo)).andExpect(status().isOk()));
+        }
+    }
+
+    @Test
+    void testGetScoreboardByPlayer() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/scoreboard/player/{playerId}", player.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetRanking() throws Throwable {
+        assertMaxStatements(0, () -> mockMvc.perform(get("/api/scoreboard/ranking/{playerId}", player.getId()))
+                .andExpect(status().isOk()));
+        assertMaxStatements(0, () -> mockMvc.perform(get("/api/scoreboard/top")).andExpect(status().isOk()));
+        assertMaxStatements(0, () -> mockMvc.perform(get("/api/scoreboard/around/{playerId}", player.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    // Palabras
+
+    @Test
+    void testGetAllWords() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(get("/api/words?limit=50")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testGetAvailableWords() throws Throwable {
+        assertMaxStatements(0, () -> mockMvc.perform(get("/api/words/available")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testReloadWordPool() throws Throwable {
+        assertMaxStatements(1, () -> mockMvc.perform(post("/api/words/reload")).andExpect(status().isOk()));
+    }
+
+    // Medición por petición
+
+    @Test
+    void testFilter_RecordsStatementsByRoute() throws Exception {
+        // Given
+        double antes = total();
+
+        // When
+        try (QueryStats.Medicion medicion = QueryStats.start()) {
+            mockMvc.perform(get("/api/players/{id}", player.getId())).andExpect(status().isOk());
+            mockMvc.perform(get("/api/players/{id}", player.getId())).andExpect(status().isOk());
+        }
+
+        // Then - Publicado con la ruta y no con el id
+        assertEquals(antes + 2, meterRegistry.get("sql.statements")
+                .tag("method", "GET").tag("uri", "/api/players/{id}").summary().count());
+    }
+
+    private double total() {
+        var summary = meterRegistry.find("sql.statements").tag("method", "GET").tag("uri", "/api/players/{id}").summary();
+        return summary != null ? summary.count() : 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.RankingDTO;
 import com.example.demobase.dto.ScoreboardDTO;
 import com.example.demobase.service.ScoreboardService;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,7 +33,7 @@ class ScoreboardControllerTest {
         ScoreboardDTO score1 = new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L);
         ScoreboardDTO score2 = new ScoreboardDTO(2L, "María García", 20, 1L, 1L, 0L);
         List<ScoreboardDTO> scores = Arrays.asList(score1, score2);
-        when(scoreboardService.getScoreboard()).thenReturn(scores);
+        when(scoreboardService.getScoreboard(100, 0)).thenReturn(scores);
 
         // When & Then
         mockMvc.perform(get("/api/scoreboard"))
@@ -42,7 +44,21 @@ class ScoreboardControllerTest {
                 .andExpect(jsonPath("$[0].puntajeTotal").value(45))
                 .andExpect(jsonPath("$[1].idJugador").value(2));
 
-        verify(scoreboardService, times(1)).getScoreboard();
+        verify(scoreboardService, times(1)).getScoreboard(100, 0);
+    }
+
+    @Test
+    void testGetScoreboard_Paged() throws Exception {
+        // Given
+        ScoreboardDTO score = new ScoreboardDTO(7L, "Ana Ruiz", 12, 1L, 0L, 1L);
+        when(scoreboardService.getScoreboard(10, 20)).thenReturn(List.of(score));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard").param("limit", "10").param("offset", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].idJugador").value(7));
+
+        verify(scoreboardService, times(1)).getScoreboard(10, 20);
     }
 
     @Test
@@ -61,5 +77,60 @@ class ScoreboardControllerTest {
 
         verify(scoreboardService, times(1)).getScoreboardByPlayer(1L);
     }
-}
 
+    @Test
+    void testGetRanking() throws Exception {
+        // Given
+        when(scoreboardService.getRanking(1L)).thenReturn(new RankingDTO(2, 1L, "Juan Pérez", 45, 3L, 2L, 1L));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard/ranking/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posicion").value(2))
+                .andExpect(jsonPath("$.idJugador").value(1));
+
+        verify(scoreboardService, times(1)).getRanking(1L);
+    }
+
+    @Test
+    void testGetTop() throws Exception {
+        // Given
+        when(scoreboardService.getTop(10)).thenReturn(List.of(new RankingDTO(1, 1L, "Juan Pérez", 45, 3L, 2L, 1L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard/top"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].posicion").value(1));
+
+        verify(scoreboardService, times(1)).getTop(10);
+    }
+
+    @Test
+    void testGetAround() throws Exception {
+        // Given
+        when(scoreboardService.getAround(2L, 1)).thenReturn(List.of(
+                new RankingDTO(1, 1L, "Juan Pérez", 45, 3L, 2L, 1L),
+                new RankingDTO(2, 2L, "María García", 20, 1L, 1L, 0L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard/around/2").param("n", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].idJugador").value(2));
+
+        verify(scoreboardService, times(1)).getAround(2L, 1);
+    }
+
+    @Test
+    void testGetWeeklyScoreboard() throws Exception {
+        // Given
+        ScoreboardDTO score = new ScoreboardDTO(1L, "Juan Pérez", 20, 1L, 1L, 0L);
+        when(scoreboardService.getWeeklyScoreboard(LocalDate.of(2025, 1, 15), 100, 0)).thenReturn(List.of(score));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard/weekly").param("fecha", "2025-01-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].puntajeTotal").value(20));
+
+        verify(scoreboardService, times(1)).getWeeklyScoreboard(LocalDate.of(2025, 1, 15), 100, 0);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.WordDTO;
+import com.example.demobase.dto.WordImportDTO;
+import com.example.demobase.model.Dificultad;
 import com.example.demobase.service.WordService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,11 +12,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(WordController.class)
@@ -28,23 +35,63 @@ class WordControllerTest {
     @Test
     void testGetAllWords() throws Exception {
         // Given
-        WordDTO word1 = new WordDTO(1L, "PROGRAMADOR", true);
-        WordDTO word2 = new WordDTO(2L, "COMPUTADORA", false);
+        WordDTO word1 = new WordDTO(1L, "PROGRAMADOR");
+        WordDTO word2 = new WordDTO(2L, "COMPUTADORA");
         List<WordDTO> words = Arrays.asList(word1, word2);
-        when(wordService.getAllWords()).thenReturn(words);
+        when(wordService.getAllWords(null, 100)).thenReturn(new PageDTO<>(words, null));
 
         // When & Then
         mockMvc.perform(get("/api/words"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].palabra").value("PROGRAMADOR"))
-                .andExpect(jsonPath("$[0].utilizada").value(true))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].utilizada").value(false));
-
-        verify(wordService, times(1)).getAllWords();
+                .andExpect(jsonPath("$.elementos").isArray())
+                .andExpect(jsonPath("$.elementos[0].id").value(1))
+                .andExpect(jsonPath("$.elementos[0].palabra").value("PROGRAMADOR"))
+                .andExpect(jsonPath("$.elementos[1].id").value(2))
+                .andExpect(jsonPath("$.siguiente").doesNotExist());
+
+        verify(wordService, times(1)).getAllWords(null, 100);
     }
-}
 
+    @Test
+    void testReloadWordPool() throws Exception {
+        // Given
+        when(wordService.reloadWordPool()).thenReturn(18);
+
+        // When & Then
+        mockMvc.perform(post("/api/words/reload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponibles").value(18));
+
+        verify(wordService, times(1)).reloadWordPool();
+    }
+
+    @Test
+    void testImportWords() throws Exception {
+        // Given
+        when(wordService.importWords(any(InputStream.class))).thenReturn(new WordImportDTO(3L, 2L, 1L, 0L, 12L));
+
+        // When & Then
+        mockMvc.perform(post("/api/words/import")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("ZORRO\nGATO\nzorro\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.leidas").value(3))
+                .andExpect(jsonPath("$.insertadas").value(2))
+                .andExpect(jsonPath("$.repetidas").value(1));
+
+        verify(wordService, times(1)).importWords(any(InputStream.class));
+    }
+
+    @Test
+    void testGetAvailableWords() throws Exception {
+        // Given
+        when(wordService.getAvailableWords()).thenReturn(Map.of(Dificultad.FACIL, Map.of(10, 2, 11, 1)));
+
+        // When & Then
+        mockMvc.perform(get("/api/words/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.FACIL.10").value(2))
+                .andExpect(jsonPath("$.FACIL.11").value(1));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demobase.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRulesTest {
+
+    @Test
+    void testGuess_CorrectIncorrectAndRepeated() {
+        GameInProgress partida = game("PROGRAMADOR", LetterMask.VACIO, GameRules.MAX_INTENTOS);
+
+        assertEquals(GameRules.LETRA_CORRECTA, GameRules.guess(partida, 'A'));
+        assertEquals(GameRules.LETRA_INCORRECTA, GameRules.guess(partida, 'X'));
+        assertEquals(GameRules.LETRA_REPETIDA, GameRules.guess(partida, 'A'));
+
+        assertEquals("_____A_A___", new String(GameRules.hiddenWord(partida)));
+        assertEquals(LetterMask.of("AX"), partida.getLetrasIntentadas());
+        assertEquals(6, partida.getIntentosRestantes());
+        assertFalse(GameRules.isFinished(partida));
+        assertEquals(0, GameRules.score(partida));
+    }
+
+    @Test
+    void testScore_CompleteWord() {
+        GameInProgress partida = game("PROGRAMADOR", LetterMask.of("PROGAM"), 3);
+
+        GameRules.guess(partida, 'D');
+
+        assertTrue(GameRules.isWordComplete(partida));
+        assertTrue(GameRules.isFinished(partida));
+        assertEquals(20, GameRules.score(partida));
+    }
+
+    @Test
+    void testScore_NoAttemptsLeftCountsCorrectLetters() {
+        GameInProgress partida = game("PROGRAMADOR", LetterMask.of("PROXYZWK"), 1);
+
+        GameRules.guess(partida, 'J');
+
+        assertFalse(GameRules.isWordComplete(partida));
+        assertTrue(GameRules.isFinished(partida));
+        assertEquals(3, GameRules.score(partida));
+    }
+
+    private static GameInProgress game(String palabra, int letrasIntentadas, int intentosRestantes) {
+        GameInProgress partida = new GameInProgress();
+        partida.setPalabra(new Word(null, palabra));
+        partida.setLetrasIntentadas(letrasIntentadas);
+        partida.setIntentosRestantes(intentosRestantes);
+        return partida;
+    }
+}
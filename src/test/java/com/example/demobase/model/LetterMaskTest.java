@@ -0,0 +1,54 @@
+package com.example.demobase.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LetterMaskTest {
+
+    @Test
+    void testIndexOf_SpanishAlphabet() {
+        assertEquals(0, LetterMask.indexOf('A'));
+        assertEquals(13, LetterMask.indexOf('N'));
+        assertEquals(14, LetterMask.indexOf('Ñ'));
+        assertEquals(15, LetterMask.indexOf('O'));
+        assertEquals(26, LetterMask.indexOf('Z'));
+        assertEquals(14, LetterMask.indexOf('ñ'));
+        assertEquals(-1, LetterMask.indexOf(' '));
+        assertEquals(-1, LetterMask.indexOf('1'));
+    }
+
+    @Test
+    void testAddAndContains() {
+        int mask = LetterMask.add(LetterMask.VACIO, 'a');
+        mask = LetterMask.add(mask, 'Ñ');
+
+        assertTrue(LetterMask.contains(mask, 'A'));
+        assertTrue(LetterMask.contains(mask, 'ñ'));
+        assertFalse(LetterMask.contains(mask, 'N'));
+        assertFalse(LetterMask.contains(mask, ','));
+        assertEquals(2, LetterMask.size(mask));
+    }
+
+    @Test
+    void testToList_AlphabeticalOrder() {
+        int mask = LetterMask.of("ZÑA");
+
+        assertEquals(List.of('A', 'Ñ', 'Z'), LetterMask.toList(mask));
+    }
+
+    @Test
+    void testConverter_RoundTrip() {
+        LetterMaskConverter converter = new LetterMaskConverter();
+
+        int mask = converter.convertToEntityAttribute("P,R,Ñ");
+
+        assertEquals(LetterMask.of("PRÑ"), mask);
+        assertEquals("Ñ,P,R", converter.convertToDatabaseColumn(mask));
+        assertEquals("", converter.convertToDatabaseColumn(LetterMask.VACIO));
+        assertEquals(LetterMask.VACIO, converter.convertToEntityAttribute(""));
+        assertEquals(LetterMask.VACIO, converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demobase.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordBitSetTest {
+
+    @Test
+    void testRoundTrip_Empty() {
+        assertEquals(new BitSet(), WordBitSet.decode(WordBitSet.encode(new BitSet())));
+        assertEquals(new BitSet(), WordBitSet.decode(null));
+    }
+
+    @Test
+    void testRoundTrip_Dense() {
+        BitSet ids = new BitSet();
+        ids.set(1, 5000);
+        ids.clear(1234);
+
+        byte[] datos = WordBitSet.encode(ids);
+
+        // Mapa de bits: un bit por id más el byte de formato
+        assertEquals(0, datos[0]);
+        assertEquals(626, datos.length);
+        assertEquals(ids, WordBitSet.decode(datos));
+    }
+
+    @Test
+    void testRoundTrip_SparseIsSmallerThanBitmap() {
+        BitSet ids = new BitSet();
+        ids.set(3);
+        ids.set(200_000);
+        ids.set(1_000_000);
+
+        byte[] datos = WordBitSet.encode(ids);
+
+        // Saltos: unos bytes en lugar de 125 KB de mapa
+        assertEquals(1, datos[0]);
+        assertTrue(datos.length < 10);
+        assertEquals(ids, WordBitSet.decode(datos));
+    }
+
+    @Test
+    void testDecode_UnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> WordBitSet.decode(new byte[]{7, 1}));
+    }
+}
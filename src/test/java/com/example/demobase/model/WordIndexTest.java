@@ -0,0 +1,58 @@
+package com.example.demobase.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordIndexTest {
+
+    @Test
+    void testRender_RevealsOnlyGuessedLetters() {
+        WordIndex indice = WordIndex.of("programador");
+
+        assertEquals("PROGRAMADOR", indice.getPalabra());
+        assertEquals("___________", new String(indice.render(LetterMask.VACIO)));
+        assertEquals("_RO_R____OR", new String(indice.render(LetterMask.of("ROX"))));
+    }
+
+    @Test
+    void testReveal_Incremental() {
+        WordIndex indice = WordIndex.of("PROGRAMADOR");
+        char[] palabraOculta = indice.render(LetterMask.VACIO);
+
+        indice.reveal(palabraOculta, 'A');
+        indice.reveal(palabraOculta, 'X');
+
+        assertEquals("_____A_A___", new String(palabraOculta));
+    }
+
+    @Test
+    void testIsComplete_SingleMaskComparison() {
+        WordIndex indice = WordIndex.of("PROGRAMADOR");
+
+        assertFalse(indice.isComplete(LetterMask.of("PROGAM")));
+        assertTrue(indice.isComplete(LetterMask.of("PROGAMD")));
+        assertTrue(indice.isComplete(LetterMask.of("PROGAMDXYZ")));
+        assertEquals(7, indice.countCorrect(LetterMask.of("PROGAMDXYZ")));
+    }
+
+    @Test
+    void testNonLetters_AlwaysVisible() {
+        WordIndex indice = WordIndex.of("BUEN DÍA");
+
+        assertEquals("____ _Í_", new String(indice.render(LetterMask.VACIO)));
+        assertTrue(indice.isComplete(LetterMask.of("BUENDA")));
+        assertFalse(indice.contains('Ñ'));
+    }
+
+    @Test
+    void testWord_IndexRebuiltWhenWordChanges() {
+        Word word = new Word(1L, "PROGRAMADOR");
+        WordIndex indice = word.getIndice();
+
+        assertSame(indice, word.getIndice());
+
+        word.setPalabra("TECNOLOGIA");
+        assertEquals("TECNOLOGIA", word.getIndice().getPalabra());
+    }
+}
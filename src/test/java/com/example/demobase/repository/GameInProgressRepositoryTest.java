@@ -0,0 +1,73 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.LetterMask;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class GameInProgressRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Test
+    void testUpdateStates_ByVersion() {
+        // Given - Una copia al día y otra con una versión vieja
+        GameInProgress alDia = persistGame("Ana", "ESTADO");
+        GameInProgress vieja = persistGame("Beto", "VERSION");
+        entityManager.flush();
+        entityManager.clear();
+        alDia.setLetrasIntentadas(LetterMask.of("E,X"));
+        alDia.setIntentosRestantes(6);
+        vieja.setVersion(vieja.getVersion() - 1);
+        vieja.setIntentosRestantes(1);
+
+        // When
+        int[] filas = gameInProgressRepository.updateStates(List.of(alDia, vieja));
+
+        // Then - Solo se escribe la que coincide en versión
+        assertArrayEquals(new int[]{1, 0}, filas);
+        GameInProgress guardada = gameInProgressRepository.findById(alDia.getId()).orElseThrow();
+        assertEquals(LetterMask.of("E,X"), guardada.getLetrasIntentadas());
+        assertEquals(6, guardada.getIntentosRestantes());
+        assertEquals(alDia.getVersion() + 1, guardada.getVersion());
+        assertEquals(7, gameInProgressRepository.findById(vieja.getId()).orElseThrow().getIntentosRestantes());
+    }
+
+    @Test
+    void testUpdateStates_DeletedRowIsSkipped() {
+        // Given
+        GameInProgress archivada = persistGame("Carla", "BORRADA");
+        entityManager.flush();
+        gameInProgressRepository.deleteById(archivada.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // When & Then
+        assertArrayEquals(new int[]{0}, gameInProgressRepository.updateStates(List.of(archivada)));
+    }
+
+    private GameInProgress persistGame(String nombre, String palabra) {
+        GameInProgress game = new GameInProgress();
+        game.setJugador(entityManager.persist(new Player(null, nombre, LocalDate.of(2025, 2, 1))));
+        game.setPalabra(entityManager.persist(new Word(null, palabra)));
+        game.setLetrasIntentadas(LetterMask.VACIO);
+        game.setIntentosRestantes(7);
+        game.setFechaInicio(LocalDateTime.now());
+        return entityManager.persist(game);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Con estadísticas de Hibernate para contar las sentencias SQL de cada consulta
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class GameRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testFindDailyTotalsSince_GroupedByPlayerAndDay() {
+        // Given - Dos partidas de Ana el mismo día, una al día siguiente y una anterior al rango
+        Player ana = entityManager.persist(new Player(null, "Ana", LocalDate.of(2025, 2, 1)));
+        Player beto = entityManager.persist(new Player(null, "Beto", LocalDate.of(2025, 2, 2)));
+        persistGame(ana, "GANADO", 20, LocalDateTime.of(2025, 3, 10, 9, 0));
+        persistGame(ana, "PERDIDO", 3, LocalDateTime.of(2025, 3, 10, 23, 59));
+        persistGame(ana, "GANADO", 21, LocalDateTime.of(2025, 3, 11, 0, 1));
+        persistGame(beto, "PERDIDO", 5, LocalDateTime.of(2025, 3, 10, 12, 0));
+        persistGame(beto, "GANADO", 20, LocalDateTime.of(2025, 3, 9, 12, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<GameRepository.DailyTotals> result = gameRepository.findDailyTotalsSince(LocalDateTime.of(2025, 3, 10, 0, 0))
+                .stream()
+                .sorted(Comparator.comparing(GameRepository.DailyTotals::getDia)
+                        .thenComparing(GameRepository.DailyTotals::getIdJugador))
+                .collect(Collectors.toList());
+
+        // Then
+        assertEquals(3, result.size());
+        assertTotals(result.get(0), ana.getId(), LocalDate.of(2025, 3, 10), 23, 2, 1, 1);
+        assertTotals(result.get(1), beto.getId(), LocalDate.of(2025, 3, 10), 5, 1, 0, 1);
+        assertTotals(result.get(2), ana.getId(), LocalDate.of(2025, 3, 11), 21, 1, 1, 0);
+    }
+
+    @Test
+    void testFindByJugadorIdBefore_ContinuesAfterCursor() {
+        // Given - Tres partidas, dos con la misma fecha
+        Player ana = entityManager.persist(new Player(null, "Ana", LocalDate.of(2025, 2, 1)));
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 10, 9, 0);
+        Game primera = persistGame(ana, "GANADO", 20, fecha.minusDays(1));
+        Game segunda = persistGame(ana, "PERDIDO", 3, fecha);
+        Game tercera = persistGame(ana, "GANADO", 21, fecha);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<GameDTO> inicio = gameRepository.findByJugadorId(ana.getId(), Limit.of(2));
+        List<GameDTO> resto = gameRepository.findByJugadorIdBefore(ana.getId(), fecha, tercera.getId(), Limit.of(2));
+
+        // Then - Más recientes primero y, a igual fecha, mayor id primero
+        assertEquals(List.of(tercera.getId(), segunda.getId()), inicio.stream().map(GameDTO::getId).collect(Collectors.toList()));
+        assertEquals(List.of(segunda.getId(), primera.getId()), resto.stream().map(GameDTO::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testListings_ConstantStatementCount() {
+        // Given - Cada partida con un jugador y una palabra distintos
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Player player = entityManager.persist(new Player(null, "Jugador " + i, LocalDate.of(2025, 2, 1)));
+            Word word = entityManager.persist(new Word(null, "PALABRAPRUEBA" + i));
+            games.add(entityManager.persist(new Game(null, player, "GANADO", i,
+                    LocalDateTime.of(2025, 3, 10, 9, 0).plusMinutes(i), word)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Long antes = games.get(0).getId() - 1;
+
+        // When & Then - Una sola sentencia tanto para 3 como para 30 filas
+        for (int filas : new int[]{3, 30}) {
+            statistics().clear();
+            List<GameDTO> pagina = gameRepository.findByIdGreaterThanOrderById(antes, Limit.of(filas));
+
+            assertEquals(filas, pagina.size());
+            assertEquals("Jugador " + (filas - 1), pagina.get(filas - 1).getNombreJugador());
+            assertEquals("PALABRAPRUEBA" + (filas - 1), pagina.get(filas - 1).getPalabra());
+            assertEquals(1, statistics().getPrepareStatementCount());
+        }
+
+        statistics().clear();
+        GameDTO delJugador = gameRepository.findByJugadorId(games.get(0).getJugador().getId(), Limit.of(10)).get(0);
+        assertEquals("Jugador 0", delJugador.getNombreJugador());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    // El DDL de H2 confirma la transacción del test: los datos se crean y se borran a mano
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testSequenceSeed_StartsAboveExistingIds() {
+        // Given - Una partida insertada antes de las secuencias, con un id mayor a los que entregarían
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Player ana = playerRepository.save(new Player(null, "Ana", LocalDate.of(2025, 2, 1)));
+        jdbcTemplate.update("INSERT INTO games (id, id_jugador, resultado, puntaje, fecha_partida) VALUES (?, ?, 'GANADO', 20, ?)",
+                5000L, ana.getId(), LocalDateTime.of(2025, 3, 10, 9, 0));
+        try {
+            // When - Se corre el script que se ejecuta al arrancar y se guarda una partida nueva
+            new ResourceDatabasePopulator(new ClassPathResource("data-h2.sql")).execute(dataSource);
+            Game nueva = gameRepository.save(new Game(null, ana, "PERDIDO", 3, LocalDateTime.of(2025, 3, 11, 9, 0), null));
+
+            // Then - El bloque de ids arranca después del mayor id de la tabla
+            assertTrue(nueva.getId() > 5000L);
+        } finally {
+            jdbcTemplate.update("DELETE FROM games WHERE id_jugador = ?", ana.getId());
+            playerRepository.deleteById(ana.getId());
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void assertTotals(GameRepository.DailyTotals fila, Long idJugador, LocalDate dia,
+                              long puntaje, long jugadas, long ganadas, long perdidas) {
+        assertEquals(idJugador, fila.getIdJugador());
+        assertEquals(dia, fila.getDia());
+        assertEquals(puntaje, fila.getPuntaje());
+        assertEquals(jugadas, fila.getJugadas());
+        assertEquals(ganadas, fila.getGanadas());
+        assertEquals(perdidas, fila.getPerdidas());
+    }
+
+    private Game persistGame(Player player, String resultado, int puntaje, LocalDateTime fecha) {
+        return entityManager.persist(new Game(null, player, resultado, puntaje, fecha, null));
+    }
+}
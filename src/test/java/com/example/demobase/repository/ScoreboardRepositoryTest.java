@@ -0,0 +1,81 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ScoreboardRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private Player ana;
+    private Player beto;
+    private Player carla;
+
+    @BeforeEach
+    void setUp() {
+        // Los jugadores de data.sql no tienen partidas y quedan al final
+        ana = entityManager.persist(new Player(null, "Ana", LocalDate.of(2025, 2, 1)));
+        beto = entityManager.persist(new Player(null, "Beto", LocalDate.of(2025, 2, 2)));
+        carla = entityManager.persist(new Player(null, "Carla", LocalDate.of(2025, 2, 3)));
+        persistGame(ana, "GANADO", 20);
+        persistGame(ana, "PERDIDO", 3);
+        persistGame(beto, "GANADO", 20);
+        persistGame(beto, "GANADO", 20);
+        persistGame(carla, "PERDIDO", 5);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindScoreboard_AggregatedAndOrdered() {
+        List<ScoreboardDTO> result = playerRepository.findScoreboard(3, 0);
+
+        assertEquals(3, result.size());
+        assertEquals(new ScoreboardDTO(beto.getId(), "Beto", 40, 2L, 2L, 0L), result.get(0));
+        assertEquals(new ScoreboardDTO(ana.getId(), "Ana", 23, 2L, 1L, 1L), result.get(1));
+        assertEquals(new ScoreboardDTO(carla.getId(), "Carla", 5, 1L, 0L, 1L), result.get(2));
+    }
+
+    @Test
+    void testFindScoreboard_PlayersWithoutGamesAndOffset() {
+        long jugadores = playerRepository.count();
+
+        List<ScoreboardDTO> result = playerRepository.findScoreboard(100, 2);
+
+        assertEquals(jugadores - 2, result.size());
+        assertEquals(carla.getId(), result.get(0).getIdJugador());
+        ScoreboardDTO sinPartidas = result.get(1);
+        assertEquals(0, sinPartidas.getPuntajeTotal());
+        assertEquals(0L, sinPartidas.getPartidasJugadas());
+        assertEquals(0L, sinPartidas.getPartidasGanadas());
+        assertEquals(0L, sinPartidas.getPartidasPerdidas());
+    }
+
+    @Test
+    void testFindScoreboardByPlayer() {
+        assertEquals(new ScoreboardDTO(ana.getId(), "Ana", 23, 2L, 1L, 1L),
+                playerRepository.findScoreboardByPlayer(ana.getId()).orElseThrow());
+        assertTrue(playerRepository.findScoreboardByPlayer(-1L).isEmpty());
+    }
+
+    private void persistGame(Player player, String resultado, int puntaje) {
+        entityManager.persist(new Game(null, player, resultado, puntaje, LocalDateTime.now(), null));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.GameInProgressRepository;
+import com.example.demobase.repository.GameRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameArchiverTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MeterRegistry meterRegistry;
+
+    private GameArchiver gameArchiver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Sin start(): el hilo escritor no corre y la cola se vacía a mano con drain()
+        gameArchiver = new GameArchiver(gameRepository, gameInProgressRepository, transactionManager, meterRegistry, eventPublisher, 2, 10, 0);
+    }
+
+    @Test
+    void testArchive_QueuedThenWrittenInOneBatch() {
+        setRunning(gameArchiver);
+
+        // When
+        gameArchiver.archive(game("GANADO"), 1L);
+        gameArchiver.archive(game("PERDIDO"), 2L);
+
+        // Then - Nada se escribe hasta vaciar la cola
+        assertEquals(2, gameArchiver.queued());
+        assertTrue(gameArchiver.isPending(1L));
+        verifyNoInteractions(gameRepository);
+
+        gameArchiver.drain();
+
+        verify(gameRepository, times(1)).saveAll(anyList());
+        verify(gameInProgressRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertFalse(gameArchiver.isPending(1L));
+        assertEquals(0, gameArchiver.queued());
+        assertEquals(2, meterRegistry.get("game.archive.archived").counter().count());
+        verify(eventPublisher, times(1)).publishEvent(new GamesArchivedEvent(Set.of(1L)));
+    }
+
+    @Test
+    void testArchive_QueueFullWritesSynchronously() {
+        setRunning(gameArchiver);
+
+        // When - La cola admite 2 partidas: la tercera se escribe en el momento
+        gameArchiver.archive(game("GANADO"), 1L);
+        gameArchiver.archive(game("GANADO"), 2L);
+        gameArchiver.archive(game("PERDIDO"), 3L);
+
+        // Then
+        assertEquals(2, gameArchiver.queued());
+        verify(gameInProgressRepository, times(1)).deleteAllByIdInBatch(List.of(3L));
+        assertFalse(gameArchiver.isPending(3L));
+        assertEquals(1, meterRegistry.get("game.archive.synchronous").counter().count());
+    }
+
+    @Test
+    void testArchive_QueuedOnlyWhenTransactionCommits() {
+        // Given
+        setRunning(gameArchiver);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When - Dentro de la transacción ya figura pendiente pero no se encola
+            gameArchiver.archive(game("GANADO"), 1L);
+            gameArchiver.archive(game("PERDIDO"), 2L);
+            assertTrue(gameArchiver.isPending(1L));
+            assertEquals(0, gameArchiver.queued());
+
+            // Then - Al confirmar se encolan; una transacción deshecha no archiva
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            assertEquals(1, gameArchiver.queued());
+            assertTrue(gameArchiver.isPending(1L));
+            assertFalse(gameArchiver.isPending(2L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testDrain_FailingGameDoesNotBlockTheRest() {
+        // Given - El lote falla siempre por la partida 2; se reintenta de a una
+        setRunning(gameArchiver);
+        gameArchiver.archive(game("GANADO"), 1L);
+        gameArchiver.archive(game("GANADO"), 2L);
+        doAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            if (ids.contains(2L)) {
+                throw new RuntimeException("Jugador eliminado");
+            }
+            return null;
+        }).when(gameInProgressRepository).deleteAllByIdInBatch(anyList());
+
+        // When
+        gameArchiver.drain();
+
+        // Then - La partida 2 queda apartada y sigue pendiente: no se vuelve a cargar como partida en curso
+        verify(gameInProgressRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+        assertFalse(gameArchiver.isPending(1L));
+        assertTrue(gameArchiver.isPending(2L));
+        assertEquals(1, gameArchiver.failed());
+        assertEquals(1.0, meterRegistry.get("game.archive.failed").gauge().value());
+        assertEquals(1, meterRegistry.get("game.archive.archived").counter().count());
+    }
+
+    @Test
+    void testRetryFailed_ArchivesOnceTheFailureIsGone() {
+        // Given - La partida 1 falla todos los intentos y queda apartada
+        setRunning(gameArchiver);
+        gameArchiver.archive(game("GANADO"), 1L);
+        doThrow(new RuntimeException("Base no disponible")).when(gameInProgressRepository).deleteAllByIdInBatch(anyList());
+        gameArchiver.drain();
+        assertTrue(gameArchiver.isPending(1L));
+
+        // When - Un reintento que también falla y otro con la base ya disponible
+        gameArchiver.retryFailed();
+        assertEquals(1, gameArchiver.failed());
+        doNothing().when(gameInProgressRepository).deleteAllByIdInBatch(anyList());
+        gameArchiver.retryFailed();
+
+        // Then
+        assertFalse(gameArchiver.isPending(1L));
+        assertEquals(0, gameArchiver.failed());
+        assertEquals(1, meterRegistry.get("game.archive.archived").counter().count());
+        verify(eventPublisher, times(1)).publishEvent(new GamesArchivedEvent(Set.of(1L)));
+    }
+
+    @Test
+    void testShutdown_DrainsQueue() throws Exception {
+        // Given
+        gameArchiver.start();
+        gameArchiver.archive(game("GANADO"), 1L);
+
+        // When
+        gameArchiver.shutdown();
+
+        // Then
+        verify(gameInProgressRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+        assertEquals(0, gameArchiver.queued());
+        assertEquals(0.0, meterRegistry.get("game.archive.queue.size").gauge().value());
+    }
+
+    // Acepta partidas en la cola sin arrancar el hilo escritor
+    private static void setRunning(GameArchiver archiver) {
+        ReflectionTestUtils.setField(archiver, "running", true);
+    }
+
+    private static Game game(String resultado) {
+        Game game = new Game();
+        game.setJugador(new Player(1L, "Juan Pérez", null));
+        game.setResultado(resultado);
+        game.setPuntaje(0);
+        return game;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventRegistryTest {
+
+    // Envíos en el mismo hilo, para revisar el registro apenas se publica
+    private final GameEventRegistry gameEventRegistry = new GameEventRegistry(Runnable::run, 1800000, 5000, 32);
+
+    @Test
+    void testSubscribe_PerPlayer() {
+        gameEventRegistry.subscribe(1L);
+        gameEventRegistry.subscribe(1L);
+        gameEventRegistry.subscribe(2L);
+
+        assertEquals(2, gameEventRegistry.subscribers(1L));
+        assertEquals(1, gameEventRegistry.subscribers(2L));
+        assertEquals(0, gameEventRegistry.subscribers(3L));
+    }
+
+    @Test
+    void testPublish_ClosedConnectionIsRemoved() {
+        // Given - Una conexión ya cerrada: el envío falla y se saca del registro
+        SseEmitter emitter = gameEventRegistry.subscribe(1L);
+        emitter.complete();
+
+        // When
+        gameEventRegistry.publish(1L, new GameResponseDTO());
+
+        // Then
+        assertEquals(0, gameEventRegistry.subscribers(1L));
+    }
+
+    @Test
+    void testPublish_WithoutSubscribers() {
+        assertDoesNotThrow(() -> gameEventRegistry.publish(1L, new GameResponseDTO()));
+    }
+
+    @Test
+    void testPublish_DeferredUntilCommit() {
+        // Given
+        SseEmitter emitter = gameEventRegistry.subscribe(1L);
+        emitter.complete();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When - Dentro de una transacción todavía no se envía nada
+            gameEventRegistry.publish(1L, new GameResponseDTO());
+            assertEquals(1, gameEventRegistry.subscribers(1L));
+
+            // Then - Al confirmar se envía (y la conexión cerrada se descarta)
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            assertEquals(0, gameEventRegistry.subscribers(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testPublish_SlowViewerIsDropped() {
+        // Given - Envíos que no avanzan: los eventos se acumulan en la conexión
+        List<Runnable> envios = new ArrayList<>();
+        GameEventRegistry registry = new GameEventRegistry(envios::add, 1800000, 5000, 2);
+        registry.subscribe(1L);
+
+        // When - Publicar no espera al envío
+        registry.publish(1L, new GameResponseDTO());
+        registry.publish(1L, new GameResponseDTO());
+        assertEquals(1, registry.subscribers(1L));
+        assertEquals(1, envios.size());
+        registry.publish(1L, new GameResponseDTO());
+
+        // Then - Con la cola llena la conexión se descarta y se cierra en el hilo de envíos
+        assertEquals(0, registry.subscribers(1L));
+        assertEquals(2, envios.size());
+    }
+
+    @Test
+    void testPublish_StuckSendIsDropped() throws InterruptedException {
+        // Given - Un envío que no termina, con un tiempo máximo de envío de 1 ms
+        List<Runnable> envios = new ArrayList<>();
+        GameEventRegistry registry = new GameEventRegistry(envios::add, 1800000, 1, 32);
+        registry.subscribe(1L);
+        registry.publish(1L, new GameResponseDTO());
+        Thread.sleep(10);
+
+        // When
+        registry.publish(1L, new GameResponseDTO());
+
+        // Then
+        assertEquals(0, registry.subscribers(1L));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({GameExporter.class, JacksonAutoConfiguration.class})
+class GameExporterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameExporter gameExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testExportNdjson_FilteredByPlayer() throws Exception {
+        // Given
+        Player ana = entityManager.persist(new Player(null, "Ana", LocalDate.of(2025, 2, 1)));
+        Player beto = entityManager.persist(new Player(null, "Beto", LocalDate.of(2025, 2, 2)));
+        Word palabra = entityManager.persist(new Word(null, "EXPORTACION"));
+        Game ganada = persistGame(ana, "GANADO", 20, LocalDateTime.of(2025, 3, 10, 9, 0), palabra);
+        persistGame(beto, "PERDIDO", 5, LocalDateTime.of(2025, 3, 10, 12, 0), null);
+        Game perdida = persistGame(ana, "PERDIDO", 3, LocalDateTime.of(2025, 3, 11, 9, 0), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long filas = gameExporter.export(ana.getId(), null, null, GameExporter.Formato.NDJSON, salida);
+
+        // Then - Una partida por línea, ordenadas por id
+        List<String> lineas = salida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, filas);
+        assertEquals(2, lineas.size());
+        JsonNode primera = objectMapper.readTree(lineas.get(0));
+        assertEquals(ganada.getId(), primera.get("id").asLong());
+        assertEquals("Ana", primera.get("nombreJugador").asText());
+        assertEquals("EXPORTACION", primera.get("palabra").asText());
+        assertEquals("2025-03-10T09:00:00", primera.get("fechaPartida").asText());
+        assertEquals(perdida.getId(), objectMapper.readTree(lineas.get(1)).get("id").asLong());
+    }
+
+    @Test
+    void testExportCsv_DateRangeAndEscaping() throws Exception {
+        // Given - El rango incluye el último día completo
+        Player raro = entityManager.persist(new Player(null, "Pérez, \"El Rápido\"", LocalDate.of(2025, 2, 1)));
+        persistGame(raro, "GANADO", 20, LocalDateTime.of(2025, 3, 9, 23, 59), null);
+        Game dentro = persistGame(raro, "GANADO", 21, LocalDateTime.of(2025, 3, 10, 0, 0), null);
+        Game ultima = persistGame(raro, "PERDIDO", 0, LocalDateTime.of(2025, 3, 11, 23, 59), null);
+        persistGame(raro, "PERDIDO", 0, LocalDateTime.of(2025, 3, 12, 0, 0), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        gameExporter.export(raro.getId(), LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 11),
+                GameExporter.Formato.CSV, salida);
+
+        // Then
+        List<String> lineas = salida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(List.of(
+                "id,idJugador,nombreJugador,resultado,puntaje,fechaPartida,palabra",
+                dentro.getId() + "," + raro.getId() + ",\"Pérez, \"\"El Rápido\"\"\",GANADO,21,2025-03-10T00:00,",
+                ultima.getId() + "," + raro.getId() + ",\"Pérez, \"\"El Rápido\"\"\",PERDIDO,0,2025-03-11T23:59,"),
+                lineas);
+    }
+
+    @Test
+    void testExport_MoreRowsThanFetchSize() throws Exception {
+        // Given - Más de un bloque, así el contexto de persistencia se limpia en el medio
+        Player ana = entityManager.persist(new Player(null, "Ana", LocalDate.of(2025, 2, 1)));
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 10, 9, 0);
+        for (int i = 0; i < 1234; i++) {
+            persistGame(ana, i % 2 == 0 ? "GANADO" : "PERDIDO", i % 25, fecha.plusMinutes(i), null);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long filas = gameExporter.export(ana.getId(), null, null, GameExporter.Formato.CSV, salida);
+
+        // Then
+        assertEquals(1234, filas);
+        assertEquals(1235, salida.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void testParseFormato() {
+        assertEquals(GameExporter.Formato.CSV, GameExporter.Formato.parse("csv"));
+        assertEquals(GameExporter.Formato.NDJSON, GameExporter.Formato.parse("NDJSON"));
+        assertThrows(RuntimeException.class, () -> GameExporter.Formato.parse("xml"));
+    }
+
+    private Game persistGame(Player player, String resultado, int puntaje, LocalDateTime fecha, Word palabra) {
+        return entityManager.persist(new Game(null, player, resultado, puntaje, fecha, palabra));
+    }
+}
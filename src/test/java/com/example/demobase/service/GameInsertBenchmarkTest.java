@@ -0,0 +1,97 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.GameRepository;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.WordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide filas por segundo al insertar partidas en lote, como hace el archivado de partidas
+ * terminadas. Imprime el resultado; no falla por tiempo. Usa una base propia para no dejarle
+ * las filas insertadas al resto de los tests. Solo corre con ./mvnw -P jmh test.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.url=jdbc:h2:mem:benchmark"})
+class GameInsertBenchmarkTest {
+
+    private static final int FILAS = 10000;
+    private static final int LOTE = 100;
+    private static final int RONDAS = 2;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testBulkInsert_RowsPerSecond() {
+        Player player = playerRepository.save(new Player(null, "Benchmark", LocalDate.now()));
+        Word word = wordRepository.findAll().get(0);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long antes = gameRepository.count();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // La primera ronda calienta la JVM; se informa la mejor de las siguientes
+        double mejor = 0;
+        long sentencias = 0;
+        for (int ronda = 0; ronda <= RONDAS; ronda++) {
+            statistics.clear();
+            long inicio = System.nanoTime();
+            for (int i = 0; i < FILAS; i += LOTE) {
+                List<Game> lote = new ArrayList<>(LOTE);
+                for (int j = 0; j < LOTE; j++) {
+                    lote.add(new Game(null, player, "GANADO", 20, LocalDateTime.now(), word));
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    gameRepository.saveAll(lote);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            double filasPorSegundo = FILAS * 1e9 / (System.nanoTime() - inicio);
+            if (ronda > 0) {
+                mejor = Math.max(mejor, filasPorSegundo);
+            }
+            sentencias = statistics.getPrepareStatementCount();
+        }
+        statistics.setStatisticsEnabled(false);
+
+        System.out.printf("Inserción de partidas en lotes de %d: %.0f filas/s, %d sentencias JDBC cada %d filas%n",
+                LOTE, mejor, sentencias, FILAS);
+        assertEquals(antes + (long) FILAS * (RONDAS + 1), gameRepository.count());
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GuessBatchResponseDTO;
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.LetterMask;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.GameInProgressRepository;
+import com.example.demobase.repository.GameRepository;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.WordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GameServiceConcurrencyTest {
+
+    private static final int HILOS = 8;
+    private static final int PARTIDAS = 30;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameSessionStore gameSessionStore;
+
+    @Autowired
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private WordPool wordPool;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameArchiver gameArchiver;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testMakeGuess_ConcurrentGuessesAreNotLost() throws Exception {
+        // Given - Un jugador propio del test y palabras suficientes para todas las partidas
+        Player player = playerRepository.save(new Player(null, "Concurrencia", LocalDate.now()));
+        Set<String> palabras = new HashSet<>();
+        List<Character> base = new ArrayList<>(LetterMask.toList(LetterMask.of("MURCIELAGOS")));
+        while (palabras.size() < PARTIDAS) {
+            Collections.shuffle(base);
+            palabras.add(base.stream().map(String::valueOf).collect(Collectors.joining()));
+        }
+        palabras.forEach(palabra -> wordRepository.save(new Word(null, palabra)));
+        wordPool.reload();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        try {
+            for (int p = 0; p < PARTIDAS; p++) {
+                GameResponseDTO inicio = gameService.startGame(player.getId());
+                String palabra = gameInProgressRepository.findWithDetailsById(inicio.getIdPartida())
+                        .orElseThrow().getPalabra().getPalabra();
+
+                // Todas las letras de la palabra menos una y 6 incorrectas: la partida no termina
+                int letrasPalabra = LetterMask.of(palabra);
+                List<Character> letras = new ArrayList<>(LetterMask.toList(letrasPalabra));
+                letras.remove(letras.size() - 1);
+                for (char c : LetterMask.ALFABETO.toCharArray()) {
+                    if (letras.size() < LetterMask.size(letrasPalabra) - 1 + 6 && !LetterMask.contains(letrasPalabra, c)) {
+                        letras.add(c);
+                    }
+                }
+                Collections.shuffle(letras);
+
+                // When - Cada hilo intenta letras distintas, todos a la vez
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<?>> hilos = new ArrayList<>();
+                for (int h = 0; h < HILOS; h++) {
+                    List<Character> propias = new ArrayList<>();
+                    for (int i = h; i < letras.size(); i += HILOS) {
+                        propias.add(letras.get(i));
+                    }
+                    hilos.add(executor.submit(() -> {
+                        largada.await();
+                        for (Character letra : propias) {
+                            gameService.makeGuess(player.getId(), letra);
+                        }
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> hilo : hilos) {
+                    hilo.get(30, TimeUnit.SECONDS);
+                }
+
+                // Then - Ninguna letra perdida y un intento descontado por cada incorrecta
+                int esperado = LetterMask.VACIO;
+                for (char c : letras) {
+                    esperado = LetterMask.add(esperado, c);
+                }
+                GameInProgress enMemoria = gameSessionStore.get(inicio.getIdPartida()).orElseThrow();
+                assertEquals(LetterMask.format(esperado), LetterMask.format(enMemoria.getLetrasIntentadas()));
+                assertEquals(1, enMemoria.getIntentosRestantes());
+
+                // Y lo mismo una vez persistido
+                gameSessionStore.flush();
+                GameInProgress persistida = gameInProgressRepository.findById(inicio.getIdPartida()).orElseThrow();
+                assertEquals(esperado, persistida.getLetrasIntentadas());
+                assertEquals(1, persistida.getIntentosRestantes());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testWord_StaleCopyIsRejected() {
+        // Given - Dos copias de la misma palabra leídas antes de modificarla
+        Word word = wordRepository.save(new Word(null, "CONCURRENCIA"));
+        Word copia1 = wordRepository.findById(word.getId()).orElseThrow();
+        Word copia2 = wordRepository.findById(word.getId()).orElseThrow();
+
+        // When - La primera copia corrige la palabra
+        copia1.setPalabra("CONCURRENCIAS");
+        wordRepository.save(copia1);
+
+        // Then - La segunda copia quedó desactualizada y no puede pisar el cambio
+        copia2.setPalabra("CONCURRENTE");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> wordRepository.save(copia2));
+    }
+
+    @Test
+    void testMakeGuesses_FinalGuessOnCacheMiss() throws InterruptedException {
+        // Given - Una partida que está en la base pero no en memoria
+        Player player = playerRepository.save(new Player(null, "Sin cache", LocalDate.now()));
+        GameInProgress enBase = saveGame(player, "ARCHIVADA");
+
+        // When - Un lote con todas las letras termina la partida leída de la base
+        GuessBatchResponseDTO respuesta = gameService.makeGuesses(player.getId(), null, LetterMask.toList(LetterMask.of("ARCHIVD")));
+
+        // Then - La jugada confirma, y la partida se archiva y cuenta en el ranking
+        assertTrue(respuesta.getEstado().getPalabraCompleta());
+        assertTrue(gameSessionStore.get(enBase.getId()).isEmpty());
+        waitUntilArchived(enBase.getId());
+        assertEquals(1, gameRepository.findByJugadorId(player.getId(), Limit.of(10)).size());
+        assertEquals(1, leaderboard.rank(player.getId()).orElseThrow().getPartidasGanadas());
+    }
+
+    @Test
+    void testMakeGuesses_RolledBackFinalGuessIsNotArchived() {
+        // Given
+        Player player = playerRepository.save(new Player(null, "Deshecha", LocalDate.now()));
+        GameInProgress enBase = saveGame(player, "DESHECHA");
+
+        // When - La transacción de la jugada que termina la partida se deshace
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            gameService.makeGuesses(player.getId(), null, LetterMask.toList(LetterMask.of("DESHCA")));
+            status.setRollbackOnly();
+        });
+
+        // Then - La partida sigue en curso como estaba y no se archiva
+        assertFalse(gameArchiver.isPending(enBase.getId()));
+        gameArchiver.drain();
+        GameInProgress persistida = gameInProgressRepository.findById(enBase.getId()).orElseThrow();
+        assertEquals(LetterMask.VACIO, persistida.getLetrasIntentadas());
+        assertTrue(gameRepository.findByJugadorId(player.getId(), Limit.of(10)).isEmpty());
+        assertTrue(leaderboard.rank(player.getId()).isEmpty());
+    }
+
+    private GameInProgress saveGame(Player player, String palabra) {
+        GameInProgress game = new GameInProgress();
+        game.setJugador(player);
+        game.setPalabra(wordRepository.save(new Word(null, palabra)));
+        game.setLetrasIntentadas(LetterMask.VACIO);
+        game.setIntentosRestantes(7);
+        game.setFechaInicio(LocalDateTime.now());
+        return gameInProgressRepository.save(game);
+    }
+
+    // El hilo escritor archiva en segundo plano
+    private void waitUntilArchived(Long gameInProgressId) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (gameInProgressRepository.existsById(gameInProgressId) && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        assertFalse(gameInProgressRepository.existsById(gameInProgressId));
+    }
+}
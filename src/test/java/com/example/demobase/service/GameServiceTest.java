@@ -1,29 +1,47 @@
 package com.example.demobase.service;
 
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.dto.GuessBatchResponseDTO;
+import com.example.demobase.dto.PageDTO;
+import com.example.demobase.model.Dificultad;
+import com.example.demobase.model.Game;
 import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.LetterMask;
 import com.example.demobase.model.Player;
 import com.example.demobase.model.Word;
 import com.example.demobase.repository.GameInProgressRepository;
 import com.example.demobase.repository.GameRepository;
 import com.example.demobase.repository.PlayerRepository;
-import com.example.demobase.repository.WordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,37 +57,66 @@ class GameServiceTest {
     private PlayerRepository playerRepository;
 
     @Mock
-    private WordRepository wordRepository;
+    private PlayedWords playedWords;
+
+    @Mock
+    private GameSessionStore gameSessionStore;
+
+    @Mock
+    private WordPool wordPool;
+
+    @Spy
+    private PlayerLocks playerLocks = new PlayerLocks();
+
+    @Mock
+    private GameEventRegistry gameEventRegistry;
+
+    @Mock
+    private GameArchiver gameArchiver;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private PeriodScoreboard periodScoreboard;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private GameMetrics gameMetrics = new GameMetrics(meterRegistry);
 
     @InjectMocks
     private GameService gameService;
 
     private Player player;
     private Word word;
+    private BitSet jugadas;
 
     @BeforeEach
     void setUp() {
         player = new Player(1L, "Juan Pérez", LocalDate.of(2025, 1, 15));
-        word = new Word(1L, "PROGRAMADOR", false);
+        word = new Word(1L, "PROGRAMADOR");
+        jugadas = new BitSet();
     }
 
     @Test
     void testStartGame_Success() {
         // Given
         when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(wordRepository.findRandomWord()).thenReturn(Optional.of(word));
+        when(playedWords.get(1L)).thenReturn(jugadas);
+        when(wordPool.next(jugadas, null, null)).thenReturn(Optional.of(word));
         when(gameInProgressRepository.findByJugadorAndPalabra(1L, 1L)).thenReturn(Optional.empty());
 
         GameInProgress newGame = new GameInProgress();
         newGame.setId(1L);
         newGame.setJugador(player);
         newGame.setPalabra(word);
-        newGame.setLetrasIntentadas("");
+        newGame.setLetrasIntentadas(LetterMask.VACIO);
         newGame.setIntentosRestantes(7);
         newGame.setFechaInicio(LocalDateTime.now());
 
-        when(wordRepository.save(any(Word.class))).thenReturn(word);
         when(gameInProgressRepository.save(any(GameInProgress.class))).thenReturn(newGame);
+        when(gameSessionStore.putIfAbsent(newGame)).thenReturn(newGame);
 
         // When
         GameResponseDTO result = gameService.startGame(1L);
@@ -81,11 +128,14 @@ class GameServiceTest {
         assertEquals(7, result.getIntentosRestantes());
         assertFalse(result.getPalabraCompleta());
         assertEquals(0, result.getPuntajeAcumulado());
+        assertEquals(1L, result.getIdPartida());
 
         verify(playerRepository, times(1)).findById(1L);
-        verify(wordRepository, times(1)).findRandomWord();
-        verify(wordRepository, times(1)).save(any(Word.class));
+        verify(wordPool, times(1)).next(jugadas, null, null);
+        verify(playedWords, times(1)).markPlayed(1L, 1L);
         verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(gameSessionStore, times(1)).putIfAbsent(newGame);
+        verify(gameEventRegistry, times(1)).publish(1L, result);
     }
 
     @Test
@@ -96,19 +146,35 @@ class GameServiceTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> gameService.startGame(999L));
         verify(playerRepository, times(1)).findById(999L);
-        verify(wordRepository, never()).findRandomWord();
+        verify(wordPool, never()).next(any(), any(), any());
     }
 
     @Test
     void testStartGame_NoWordsAvailable() {
         // Given
         when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(wordRepository.findRandomWord()).thenReturn(Optional.empty());
+        when(playedWords.get(1L)).thenReturn(jugadas);
+        when(wordPool.next(jugadas, null, null)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> gameService.startGame(1L));
         verify(playerRepository, times(1)).findById(1L);
-        verify(wordRepository, times(1)).findRandomWord();
+        verify(wordPool, times(1)).next(jugadas, null, null);
+        assertEquals(1, meterRegistry.get("game.words.unavailable").counter().count());
+    }
+
+    @Test
+    void testStartGame_NoWordsForDifficulty() {
+        // Given
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(playedWords.get(1L)).thenReturn(jugadas);
+        when(wordPool.next(jugadas, Dificultad.DIFICIL, 15)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> gameService.startGame(1L, Dificultad.DIFICIL, 15));
+        assertTrue(exception.getMessage().contains("No hay palabras disponibles"));
+        verify(gameInProgressRepository, never()).save(any());
     }
 
     @Test
@@ -118,13 +184,15 @@ class GameServiceTest {
         existingGame.setId(1L);
         existingGame.setJugador(player);
         existingGame.setPalabra(word);
-        existingGame.setLetrasIntentadas("P,R");
+        existingGame.setLetrasIntentadas(LetterMask.of("P,R"));
         existingGame.setIntentosRestantes(5);
         existingGame.setFechaInicio(LocalDateTime.now());
 
         when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(wordRepository.findRandomWord()).thenReturn(Optional.of(word));
+        when(playedWords.get(1L)).thenReturn(jugadas);
+        when(wordPool.next(jugadas, null, null)).thenReturn(Optional.of(word));
         when(gameInProgressRepository.findByJugadorAndPalabra(1L, 1L)).thenReturn(Optional.of(existingGame));
+        when(gameSessionStore.putIfAbsent(existingGame)).thenReturn(existingGame);
 
         // When
         GameResponseDTO result = gameService.startGame(1L);
@@ -142,14 +210,13 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("");
+        gameInProgress.setLetrasIntentadas(LetterMask.VACIO);
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L))
+                .thenReturn(Optional.of(gameInProgress));
+        when(gameSessionStore.putIfAbsent(gameInProgress)).thenReturn(gameInProgress);
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'P');
@@ -158,18 +225,21 @@ class GameServiceTest {
         assertNotNull(result);
         assertTrue(result.getPalabraOculta().contains("P"));
         assertTrue(result.getLetrasIntentadas().contains('P'));
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(gameSessionStore, times(1)).putIfAbsent(gameInProgress);
+        verify(gameSessionStore, times(1)).markDirty(1L);
+        verify(gameInProgressRepository, never()).save(any(GameInProgress.class));
     }
 
     @Test
     void testMakeGuess_NoGameInProgress() {
         // Given
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(new ArrayList<>());
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(Optional.empty());
+        when(playerRepository.existsById(1L)).thenReturn(true);
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> gameService.makeGuess(1L, 'P'));
-        verify(gameInProgressRepository, times(1)).findByJugadorIdOrderByFechaInicioDesc(1L);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> gameService.makeGuess(1L, 'P'));
+        assertTrue(exception.getMessage().startsWith("No hay partidas en curso"));
+        verify(gameInProgressRepository, times(1)).findFirstByJugadorIdOrderByFechaInicioDesc(1L);
     }
 
     @Test
@@ -179,14 +249,13 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("P");
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P"));
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L))
+                .thenReturn(Optional.of(gameInProgress));
+        when(gameSessionStore.putIfAbsent(gameInProgress)).thenReturn(gameInProgress);
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'R');
@@ -195,7 +264,8 @@ class GameServiceTest {
         assertNotNull(result);
         assertTrue(result.getLetrasIntentadas().contains('R'));
         assertEquals(7, result.getIntentosRestantes()); // No se descuenta porque la letra es correcta
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(gameSessionStore, times(1)).markDirty(1L);
+        verify(gameEventRegistry, times(1)).publish(1L, result);
     }
 
     @Test
@@ -205,14 +275,13 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("P");
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P"));
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L))
+                .thenReturn(Optional.of(gameInProgress));
+        when(gameSessionStore.putIfAbsent(gameInProgress)).thenReturn(gameInProgress);
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'X');
@@ -221,7 +290,7 @@ class GameServiceTest {
         assertNotNull(result);
         assertTrue(result.getLetrasIntentadas().contains('X'));
         assertEquals(6, result.getIntentosRestantes()); // Se descuenta porque la letra es incorrecta
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(gameSessionStore, times(1)).markDirty(1L);
     }
 
     @Test
@@ -231,13 +300,13 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("P");
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P"));
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L))
+                .thenReturn(Optional.of(gameInProgress));
+        when(gameSessionStore.putIfAbsent(gameInProgress)).thenReturn(gameInProgress);
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'P');
@@ -246,6 +315,363 @@ class GameServiceTest {
         assertNotNull(result);
         assertEquals(7, result.getIntentosRestantes()); // No cambia porque la letra ya fue intentada
         verify(gameInProgressRepository, never()).save(any(GameInProgress.class));
+        verify(gameEventRegistry, never()).publish(anyLong(), any());
+        assertEquals(1, meterRegistry.get("game.guess.repeated").counter().count());
+    }
+
+    @Test
+    void testMakeGuess_SessionInMemory() {
+        // Given - La partida ya está en memoria: no se consulta la base
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GameResponseDTO result = gameService.makeGuess(1L, 'X');
+
+        // Then
+        assertEquals(6, result.getIntentosRestantes());
+        verify(gameSessionStore, times(1)).markDirty(1L);
+        verifyNoInteractions(playerRepository, gameInProgressRepository, gameRepository);
+    }
+
+    @Test
+    void testMakeGuess_GameFinished_RemovedFromSession() {
+        // Given - Falta una sola letra para completar la palabra
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P,R,O,G,A,M"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GameResponseDTO result = gameService.makeGuess(1L, 'D');
+
+        // Then
+        assertTrue(result.getPalabraCompleta());
+        assertEquals(20, result.getPuntajeAcumulado());
+        verify(gameSessionStore, times(1)).remove(gameInProgress);
+        verify(gameSessionStore, never()).markDirty(anyLong());
+        verify(gameArchiver, times(1)).archive(
+                argThat(game -> "GANADO".equals(game.getResultado()) && game.getPuntaje() == 20), eq(1L));
+        verify(leaderboard, times(1)).recordGame(player, true, 20);
+        verify(periodScoreboard, times(1)).recordGame(argThat(game -> game.getPuntaje() == 20));
+        verify(gameRepository, never()).save(any());
+        verify(gameInProgressRepository, never()).deleteById(anyLong());
+        assertEquals(1, meterRegistry.get("game.finished").tag("resultado", "GANADO").counter().count());
+        assertEquals(0, meterRegistry.get("game.finished").tag("resultado", "PERDIDO").counter().count());
+    }
+
+    @Test
+    void testMakeGuess_GameFinished_CountedOnCommit() {
+        // Given - Falta una sola letra y la jugada corre dentro de una transacción
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P,R,O,G,A,M"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            gameService.makeGuess(1L, 'D');
+
+            // Then - La partida terminada se cuenta recién al confirmar
+            assertEquals(0, meterRegistry.get("game.finished").tag("resultado", "GANADO").counter().count());
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertEquals(1, meterRegistry.get("game.finished").tag("resultado", "GANADO").counter().count());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testMakeGuess_InvalidLetter() {
+        // When & Then - Los caracteres fuera del alfabeto se rechazan sin consultar la partida
+        assertThrows(RuntimeException.class, () -> gameService.makeGuess(1L, '3'));
+        verifyNoInteractions(gameSessionStore, playerRepository, gameInProgressRepository);
+    }
+
+    @Test
+    void testMakeGuesses_AppliesLettersInOrder() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("P"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GuessBatchResponseDTO result = gameService.makeGuesses(1L, null, Arrays.asList('r', 'X', 'P'));
+
+        // Then
+        assertEquals(3, result.getResultados().size());
+        assertEquals("CORRECTA", result.getResultados().get(0).getResultado());
+        assertEquals('R', result.getResultados().get(0).getLetra());
+        assertEquals("INCORRECTA", result.getResultados().get(1).getResultado());
+        assertEquals("REPETIDA", result.getResultados().get(2).getResultado());
+        assertEquals(6, result.getEstado().getIntentosRestantes());
+        assertEquals("PR__R_____R", result.getEstado().getPalabraOculta());
+        verify(gameSessionStore, times(1)).markDirty(1L);
+        verifyNoInteractions(gameRepository, leaderboard, periodScoreboard);
+    }
+
+    @Test
+    void testMakeGuesses_StopsWhenGameEnds() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("PROGAM"));
+        gameInProgress.setIntentosRestantes(1);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GuessBatchResponseDTO result = gameService.makeGuesses(1L, null, Arrays.asList('D', 'X', 'Z'));
+
+        // Then
+        assertEquals("CORRECTA", result.getResultados().get(0).getResultado());
+        assertEquals("OMITIDA", result.getResultados().get(1).getResultado());
+        assertEquals("OMITIDA", result.getResultados().get(2).getResultado());
+        assertTrue(result.getEstado().getPalabraCompleta());
+        assertEquals(1, result.getEstado().getIntentosRestantes());
+        verify(gameSessionStore, times(1)).remove(gameInProgress);
+        verify(gameArchiver, times(1)).archive(any(), eq(1L));
+    }
+
+    @Test
+    void testMakeGuesses_InvalidLetterRejectsWholeBatch() {
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameService.makeGuesses(1L, null, Arrays.asList('A', '?')));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(playerLocks, gameSessionStore, playerRepository, gameInProgressRepository);
     }
-}
 
+    @Test
+    void testMakeGuesses_EmptyBatch() {
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameService.makeGuesses(1L, null, List.of()));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(playerLocks, gameSessionStore, playerRepository, gameInProgressRepository);
+    }
+
+    @Test
+    void testMakeGuesses_TooManyLetters() {
+        // Given - Una letra más que el alfabeto
+        List<Character> letras = new ArrayList<>();
+        for (char letra : (LetterMask.ALFABETO + "A").toCharArray()) {
+            letras.add(letra);
+        }
+
+        // When & Then - Se rechaza con 400 sin tomar el lock del jugador
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> gameService.makeGuesses(1L, null, letras));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(playerLocks, gameSessionStore, playerRepository, gameInProgressRepository);
+    }
+
+    @Test
+    void testMakeGuess_PlayerNotFound() {
+        // Given
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(999L)).thenReturn(Optional.empty());
+        when(playerRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> gameService.makeGuess(999L, 'P'));
+        assertTrue(exception.getMessage().startsWith("Jugador no encontrado"));
+    }
+
+    @Test
+    void testMakeGuessByGame_LoadedByPrimaryKey() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(5L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.VACIO);
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameInProgressRepository.findWithDetailsById(5L)).thenReturn(Optional.of(gameInProgress));
+        when(gameSessionStore.putIfAbsent(gameInProgress)).thenReturn(gameInProgress);
+
+        // When
+        GameResponseDTO result = gameService.makeGuessByGame(5L, 'a');
+
+        // Then
+        assertEquals(5L, result.getIdPartida());
+        assertEquals("_____A_A___", result.getPalabraOculta());
+        verify(gameSessionStore, times(1)).markDirty(5L);
+        verify(gameInProgressRepository, never()).findFirstByJugadorIdOrderByFechaInicioDesc(anyLong());
+        verifyNoInteractions(playerRepository);
+    }
+
+    @Test
+    void testMakeGuessByGame_InMemory() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(5L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.VACIO);
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameSessionStore.get(5L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GameResponseDTO result = gameService.makeGuessByGame(5L, 'X');
+
+        // Then
+        assertEquals(6, result.getIntentosRestantes());
+        verifyNoInteractions(playerRepository, gameInProgressRepository);
+    }
+
+    @Test
+    void testMakeGuessByGame_NotFound() {
+        // Given
+        when(gameInProgressRepository.findWithDetailsById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> gameService.makeGuessByGame(99L, 'A'));
+    }
+
+    @Test
+    void testSubscribe_SendsCurrentState() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("A"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        SseEmitter emitter = new SseEmitter();
+        when(playerRepository.existsById(1L)).thenReturn(true);
+        when(gameEventRegistry.subscribe(1L)).thenReturn(emitter);
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        SseEmitter result = gameService.subscribe(1L);
+
+        // Then
+        assertSame(emitter, result);
+        verify(gameEventRegistry, times(1)).send(eq(1L), eq(emitter),
+                argThat(estado -> "_____A_A___".equals(estado.getPalabraOculta())));
+    }
+
+    @Test
+    void testSubscribe_NoGameInProgress() {
+        // Given - El jugador existe pero no tiene partida: se suscribe sin estado inicial
+        when(playerRepository.existsById(1L)).thenReturn(true);
+        when(gameEventRegistry.subscribe(1L)).thenReturn(new SseEmitter());
+        when(gameSessionStore.getLatestForPlayer(1L)).thenReturn(Optional.empty());
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(Optional.empty());
+
+        // When
+        gameService.subscribe(1L);
+
+        // Then
+        verify(gameEventRegistry, never()).send(anyLong(), any(), any());
+    }
+
+    @Test
+    void testSubscribe_PlayerNotFound() {
+        // Given
+        when(playerRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> gameService.subscribe(999L));
+        verify(gameEventRegistry, never()).subscribe(anyLong());
+    }
+
+    @Test
+    void testMakeGuess_FinishedGameWaitingToBeArchived() {
+        // Given - La fila sigue en la base pero la partida ya terminó y espera ser archivada
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.of("PROGAMD"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L))
+                .thenReturn(Optional.of(gameInProgress));
+        when(gameArchiver.isPending(1L)).thenReturn(true);
+        when(playerRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> gameService.makeGuess(1L, 'A'));
+        assertTrue(exception.getMessage().contains("No hay partidas en curso"));
+        verify(gameSessionStore, never()).putIfAbsent(any());
+    }
+
+    @Test
+    void testGetGamesByPlayer_KeysetPages() {
+        // Given - Dos partidas a la misma hora: el id desempata
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 15, 10, 30);
+        GameDTO reciente = new GameDTO(7L, 1L, "Juan Pérez", "GANADO", 20, fecha, "PROGRAMADOR");
+        GameDTO anterior = new GameDTO(5L, 1L, "Juan Pérez", "PERDIDO", 3, fecha, "PROGRAMADOR");
+        when(gameRepository.findByJugadorId(1L, Limit.of(2))).thenReturn(List.of(reciente, anterior));
+        when(gameRepository.findByJugadorIdBefore(1L, fecha, 7L, Limit.of(2))).thenReturn(List.of(anterior));
+
+        // When
+        PageDTO<GameDTO> primera = gameService.getGamesByPlayer(1L, null, 1);
+        PageDTO<GameDTO> segunda = gameService.getGamesByPlayer(1L, primera.getSiguiente(), 1);
+
+        // Then
+        assertEquals(7L, primera.getElementos().get(0).getId());
+        assertNotNull(primera.getSiguiente());
+        assertEquals(5L, segunda.getElementos().get(0).getId());
+        assertNull(segunda.getSiguiente());
+        verify(gameRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetGamesByPlayer_InvalidCursor() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> gameService.getGamesByPlayer(1L, "no-es-un-cursor", 10));
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void testGetAllGames_AfterId() {
+        // Given
+        GameDTO game = new GameDTO(12L, 1L, "Juan Pérez", "GANADO", 20, LocalDateTime.now(), "PROGRAMADOR");
+        when(gameRepository.findByIdGreaterThanOrderById(10L, Limit.of(51))).thenReturn(List.of(game));
+
+        // When
+        PageDTO<GameDTO> result = gameService.getAllGames(10L, 50);
+
+        // Then
+        assertEquals(1, result.getElementos().size());
+        assertEquals("PROGRAMADOR", result.getElementos().get(0).getPalabra());
+        assertNull(result.getSiguiente());
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.LetterMask;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.GameInProgressRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameSessionStoreTest {
+
+    @Mock
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Spy
+    private PlayerLocks playerLocks = new PlayerLocks();
+
+    private MeterRegistry meterRegistry;
+    private GameSessionStore gameSessionStore;
+
+    private GameInProgress gameInProgress;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameSessionStore = new GameSessionStore(gameInProgressRepository, playerLocks, meterRegistry);
+        Player player = new Player(1L, "Juan Pérez", LocalDate.of(2025, 1, 15));
+        Word word = new Word(1L, "PROGRAMADOR");
+        gameInProgress = new GameInProgress();
+        gameInProgress.setId(10L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadas(LetterMask.VACIO);
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+        gameInProgress.setVersion(0L);
+    }
+
+    @Test
+    void testPutAndGet() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+
+        assertSame(gameInProgress, gameSessionStore.get(10L).orElseThrow());
+        assertSame(gameInProgress, gameSessionStore.getLatestForPlayer(1L).orElseThrow());
+        assertTrue(gameSessionStore.get(11L).isEmpty());
+        assertTrue(gameSessionStore.getLatestForPlayer(2L).isEmpty());
+        assertEquals(1, gameSessionStore.size());
+    }
+
+    @Test
+    void testPutIfAbsent_KeepsInMemoryVersion() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+
+        // Una copia leída de la base no reemplaza el estado que ya está en memoria
+        GameInProgress copiaDeBase = new GameInProgress();
+        copiaDeBase.setId(10L);
+        copiaDeBase.setJugador(gameInProgress.getJugador());
+        copiaDeBase.setFechaInicio(gameInProgress.getFechaInicio());
+
+        assertSame(gameInProgress, gameSessionStore.putIfAbsent(copiaDeBase));
+    }
+
+    @Test
+    void testLatestForPlayer_SeveralGamesInParallel() {
+        GameInProgress newGame = new GameInProgress();
+        newGame.setId(11L);
+        newGame.setJugador(gameInProgress.getJugador());
+        newGame.setFechaInicio(gameInProgress.getFechaInicio().plusMinutes(1));
+
+        gameSessionStore.putIfAbsent(newGame);
+        gameSessionStore.putIfAbsent(gameInProgress);
+
+        // Ambas partidas siguen disponibles por id; la más reciente es la del jugador
+        assertSame(gameInProgress, gameSessionStore.get(10L).orElseThrow());
+        assertSame(newGame, gameSessionStore.getLatestForPlayer(1L).orElseThrow());
+
+        gameSessionStore.remove(newGame);
+        assertTrue(gameSessionStore.getLatestForPlayer(1L).isEmpty());
+        assertSame(gameInProgress, gameSessionStore.get(10L).orElseThrow());
+    }
+
+    @Test
+    void testFlush_OnlyDirtySessions() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+        when(gameInProgressRepository.updateStates(anyList())).thenReturn(new int[]{1});
+
+        // Sin cambios no se escribe nada
+        gameSessionStore.flush();
+        verify(gameInProgressRepository, never()).updateStates(anyList());
+
+        // Con cambios se escribe una sola vez, sin merge
+        gameSessionStore.markDirty(10L);
+        gameSessionStore.flush();
+        gameSessionStore.flush();
+        verify(gameInProgressRepository, times(1)).updateStates(anyList());
+        verify(gameInProgressRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testFlush_FailureRetriedOnNextCycle() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+        gameSessionStore.markDirty(10L);
+        when(gameInProgressRepository.updateStates(anyList()))
+                .thenThrow(new RuntimeException("Base no disponible"))
+                .thenReturn(new int[]{1});
+
+        gameSessionStore.flush();
+        gameSessionStore.flush();
+
+        verify(gameInProgressRepository, times(2)).updateStates(anyList());
+    }
+
+    @Test
+    void testFlush_EvictsIdleSessions() {
+        ReflectionTestUtils.setField(gameSessionStore, "idleTimeoutMs", -1L);
+        gameSessionStore.putIfAbsent(gameInProgress);
+        gameSessionStore.markDirty(10L);
+        when(gameInProgressRepository.updateStates(anyList())).thenReturn(new int[]{1});
+
+        // Se persiste antes de descargarla de memoria
+        gameSessionStore.flush();
+
+        verify(gameInProgressRepository, times(1)).updateStates(anyList());
+        assertTrue(gameSessionStore.get(10L).isEmpty());
+        assertTrue(gameSessionStore.getLatestForPlayer(1L).isEmpty());
+    }
+
+    @Test
+    void testFlush_DoesNotEvictSessionTakenByGuess() throws Exception {
+        ReflectionTestUtils.setField(gameSessionStore, "idleTimeoutMs", -1L);
+        gameSessionStore.putIfAbsent(gameInProgress);
+        when(gameInProgressRepository.updateStates(anyList())).thenReturn(new int[]{1});
+
+        // Given: una jugada tiene el lock del jugador y ya tomó la sesión
+        ReentrantLock lock = (ReentrantLock) playerLocks.acquire(1L);
+        GameInProgress enJuego = gameSessionStore.get(10L).orElseThrow();
+
+        // When: la descarga llega mientras tanto y espera el lock; la jugada aplica su letra y lo suelta
+        Thread descarga = new Thread(gameSessionStore::flush);
+        descarga.start();
+        while (descarga.isAlive() && !lock.hasQueuedThread(descarga)) {
+            Thread.sleep(1);
+        }
+        enJuego.setLetrasIntentadas(LetterMask.add(enJuego.getLetrasIntentadas(), 'A'));
+        gameSessionStore.markDirty(10L);
+        playerLocks.release(lock);
+        descarga.join(5000);
+
+        // Then: la sesión sigue en memoria y la letra se persiste en el siguiente ciclo
+        assertSame(enJuego, gameSessionStore.get(10L).orElseThrow());
+        assertSame(enJuego, gameSessionStore.getLatestForPlayer(1L).orElseThrow());
+        gameSessionStore.flush();
+        verify(gameInProgressRepository).updateStates(argThat(copias ->
+                copias.size() == 1 && copias.get(0).getLetrasIntentadas() == LetterMask.of("A")));
+    }
+
+    @Test
+    void testRemove_DiscardsPendingChanges() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+        gameSessionStore.markDirty(10L);
+
+        gameSessionStore.remove(gameInProgress);
+        gameSessionStore.flush();
+
+        assertTrue(gameSessionStore.get(10L).isEmpty());
+        verify(gameInProgressRepository, never()).updateStates(anyList());
+    }
+
+    @Test
+    void testActiveSessionsGauge() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+        assertEquals(1, meterRegistry.get("game.sessions.active").gauge().value());
+
+        gameSessionStore.remove(gameInProgress);
+        assertEquals(0, meterRegistry.get("game.sessions.active").gauge().value());
+    }
+
+    @Test
+    void testShutdown_FlushesPendingChanges() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+        gameSessionStore.markDirty(10L);
+        when(gameInProgressRepository.updateStates(anyList())).thenReturn(new int[]{1});
+
+        gameSessionStore.shutdown();
+
+        verify(gameInProgressRepository, times(1)).updateStates(any());
+    }
+
+    @Test
+    void testFlush_CopiesNewVersionBack() {
+        gameSessionStore.putIfAbsent(gameInProgress);
+        gameInProgress.setVersion(3L);
+        gameSessionStore.markDirty(10L);
+        when(gameInProgressRepository.updateStates(anyList())).thenAnswer(invocation -> {
+            List<GameInProgress> copias = invocation.getArgument(0);
+            // Se guarda una copia, no la instancia que usan las jugadas
+            assertNotSame(gameInProgress, copias.get(0));
+            return new int[]{1};
+        });
+
+        gameSessionStore.flush();
+
+        assertEquals(4L, gameInProgress.getVersion());
+    }
+
+    @Test
+    void testFlush_ArchivedRowDoesNotSinkBatch() {
+        // Given - Dos partidas con cambios; la fila de la primera ya se archivó
+        GameInProgress otra = new GameInProgress();
+        otra.setId(11L);
+        otra.setJugador(new Player(2L, "María García", LocalDate.of(2025, 1, 16)));
+        otra.setPalabra(gameInProgress.getPalabra());
+        otra.setLetrasIntentadas(LetterMask.VACIO);
+        otra.setIntentosRestantes(7);
+        otra.setFechaInicio(LocalDateTime.now());
+        otra.setVersion(0L);
+        gameSessionStore.putIfAbsent(gameInProgress);
+        gameSessionStore.putIfAbsent(otra);
+        gameSessionStore.markDirty(10L);
+        gameSessionStore.markDirty(11L);
+        when(gameInProgressRepository.updateStates(anyList())).thenAnswer(invocation -> {
+            List<GameInProgress> copias = invocation.getArgument(0);
+            return copias.stream().mapToInt(g -> g.getId() == 10L ? 0 : 1).toArray();
+        });
+
+        // When
+        gameSessionStore.flush();
+        gameSessionStore.flush();
+
+        // Then - La otra se guardó y la archivada no se reintenta
+        assertEquals(1L, otra.getVersion());
+        assertEquals(0L, gameInProgress.getVersion());
+        verify(gameInProgressRepository, times(1)).updateStates(anyList());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.LetterMask;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.GameInProgressRepository;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.WordRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mide jugadas por segundo con varios hilos jugando letras distintas en la misma partida, todos
+ * esperando el mismo lock de jugador. Imprime el resultado; no falla por tiempo. Usa una base
+ * propia para no dejarle las partidas al resto de los tests. Solo corre con ./mvnw -P jmh test.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.url=jdbc:h2:mem:benchmark-jugadas"})
+class GuessThroughputBenchmarkTest {
+
+    private static final int HILOS = 8;
+    private static final int PARTIDAS = 100;
+    private static final int RONDAS = 2;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameSessionStore gameSessionStore;
+
+    @Autowired
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private WordPool wordPool;
+
+    @Test
+    void testMakeGuess_ConcurrentGuessesPerSecond() throws Exception {
+        Player player = playerRepository.save(new Player(null, "Benchmark", LocalDate.now()));
+        Set<String> palabras = new HashSet<>();
+        List<Character> base = new ArrayList<>(LetterMask.toList(LetterMask.of("MURCIELAGOS")));
+        while (palabras.size() < PARTIDAS * (RONDAS + 1)) {
+            Collections.shuffle(base);
+            palabras.add(base.stream().map(String::valueOf).collect(Collectors.joining()));
+        }
+        palabras.forEach(palabra -> wordRepository.save(new Word(null, palabra)));
+        wordPool.reload();
+
+        // La primera ronda calienta la JVM; se informa la mejor de las siguientes
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        double mejor = 0;
+        try {
+            for (int ronda = 0; ronda <= RONDAS; ronda++) {
+                int jugadas = 0;
+                long nanos = 0;
+                for (int p = 0; p < PARTIDAS; p++) {
+                    GameResponseDTO inicio = gameService.startGame(player.getId());
+                    List<Character> letras = unfinishedGuesses(inicio.getIdPartida());
+
+                    CountDownLatch largada = new CountDownLatch(1);
+                    List<Future<?>> hilos = new ArrayList<>();
+                    for (int h = 0; h < HILOS; h++) {
+                        List<Character> propias = new ArrayList<>();
+                        for (int i = h; i < letras.size(); i += HILOS) {
+                            propias.add(letras.get(i));
+                        }
+                        hilos.add(executor.submit(() -> {
+                            largada.await();
+                            for (Character letra : propias) {
+                                gameService.makeGuess(player.getId(), letra);
+                            }
+                            return null;
+                        }));
+                    }
+                    long inicioNanos = System.nanoTime();
+                    largada.countDown();
+                    for (Future<?> hilo : hilos) {
+                        hilo.get(30, TimeUnit.SECONDS);
+                    }
+                    nanos += System.nanoTime() - inicioNanos;
+                    jugadas += letras.size();
+
+                    GameInProgress enMemoria = gameSessionStore.get(inicio.getIdPartida()).orElseThrow();
+                    assertEquals(letras.size(), LetterMask.size(enMemoria.getLetrasIntentadas()));
+                }
+                if (ronda > 0) {
+                    mejor = Math.max(mejor, jugadas * 1e9 / nanos);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        System.out.printf("Jugadas concurrentes sobre una misma partida con %d hilos: %.0f jugadas/s%n", HILOS, mejor);
+    }
+
+    // Todas las letras de la palabra menos una y 6 incorrectas: la partida no termina
+    private List<Character> unfinishedGuesses(Long gameId) {
+        String palabra = gameInProgressRepository.findWithDetailsById(gameId).orElseThrow().getPalabra().getPalabra();
+        int letrasPalabra = LetterMask.of(palabra);
+        List<Character> letras = new ArrayList<>(LetterMask.toList(letrasPalabra));
+        letras.remove(letras.size() - 1);
+        for (char c : LetterMask.ALFABETO.toCharArray()) {
+            if (letras.size() < LetterMask.size(letrasPalabra) - 1 + 6 && !LetterMask.contains(letrasPalabra, c)) {
+                letras.add(c);
+            }
+        }
+        Collections.shuffle(letras);
+        return letras;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.RankingDTO;
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @InjectMocks
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        // La base devuelve la grilla ya ordenada por puntaje
+        when(playerRepository.findScoreboard(1000, 0)).thenReturn(List.of(
+                new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L),
+                new ScoreboardDTO(3L, "Carlos López", 20, 1L, 1L, 0L),
+                new ScoreboardDTO(2L, "María García", 20, 2L, 1L, 1L),
+                new ScoreboardDTO(4L, "Ana Ruiz", 0, 0L, 0L, 0L)));
+        leaderboard.load();
+    }
+
+    @Test
+    void testLoad_OrderedByScoreThenId() {
+        assertEquals(4, leaderboard.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(leaderboard.top(10)));
+
+        RankingDTO maria = leaderboard.rank(2L).orElseThrow();
+        assertEquals(2, maria.getPosicion());
+        assertEquals("María García", maria.getNombreJugador());
+        assertEquals(20, maria.getPuntajeTotal());
+        assertEquals(2L, maria.getPartidasJugadas());
+        assertTrue(leaderboard.rank(99L).isEmpty());
+    }
+
+    @Test
+    void testRecordGame_MovesPlayerUp() {
+        leaderboard.recordGame(new Player(4L, "Ana Ruiz", LocalDate.now()), true, 30);
+
+        RankingDTO ana = leaderboard.rank(4L).orElseThrow();
+        assertEquals(2, ana.getPosicion());
+        assertEquals(30, ana.getPuntajeTotal());
+        assertEquals(1L, ana.getPartidasJugadas());
+        assertEquals(1L, ana.getPartidasGanadas());
+        assertEquals(List.of(1L, 4L, 2L, 3L), ids(leaderboard.top(10)));
+    }
+
+    @Test
+    void testTop_LimitsSize() {
+        List<RankingDTO> top = leaderboard.top(2);
+
+        assertEquals(List.of(1L, 2L), ids(top));
+        assertEquals(List.of(1, 2), top.stream().map(RankingDTO::getPosicion).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testAround() {
+        List<RankingDTO> vecinos = leaderboard.around(2L, 1).orElseThrow();
+        assertEquals(List.of(1L, 2L, 3L), ids(vecinos));
+        assertEquals(1, vecinos.get(0).getPosicion());
+
+        // En los extremos se devuelven solo los que existen
+        assertEquals(List.of(1L, 2L), ids(leaderboard.around(1L, 1).orElseThrow()));
+        assertEquals(List.of(3L, 4L), ids(leaderboard.around(4L, 1).orElseThrow()));
+        assertTrue(leaderboard.around(99L, 1).isEmpty());
+    }
+
+    @Test
+    void testPlayerChanges() {
+        leaderboard.addPlayer(new Player(5L, "Nuevo", LocalDate.now()));
+        leaderboard.renamePlayer(new Player(1L, "Juan P.", LocalDate.now()));
+        leaderboard.removePlayer(3L);
+
+        assertEquals(List.of(1L, 2L, 4L, 5L), ids(leaderboard.top(10)));
+        assertEquals("Juan P.", leaderboard.rank(1L).orElseThrow().getNombreJugador());
+        assertEquals(45, leaderboard.rank(1L).orElseThrow().getPuntajeTotal());
+    }
+
+    @Test
+    void testRecordGame_AppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.recordGame(new Player(4L, "Ana Ruiz", LocalDate.now()), true, 30);
+
+            // Hasta que la transacción confirma no cambia nada
+            assertEquals(4, leaderboard.rank(4L).orElseThrow().getPosicion());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(2, leaderboard.rank(4L).orElseThrow().getPosicion());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<Long> ids(List<RankingDTO> ranking) {
+        return ranking.stream().map(RankingDTO::getIdJugador).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.GameRepository;
+import com.example.demobase.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PeriodScoreboardTest {
+
+    private static final LocalDate HOY = LocalDate.now();
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    private PeriodScoreboard periodScoreboard;
+
+    private final Player ana = new Player(1L, "Ana", LocalDate.of(2025, 2, 1));
+    private final Player beto = new Player(2L, "Beto", LocalDate.of(2025, 2, 2));
+
+    @BeforeEach
+    void setUp() {
+        periodScoreboard = new PeriodScoreboard(gameRepository, playerRepository, 30);
+    }
+
+    @Test
+    void testLoad_OnlyRetainedDays() {
+        // Given
+        when(gameRepository.findDailyTotalsSince(HOY.minusDays(29).atStartOfDay())).thenReturn(List.of(
+                fila(1L, HOY, 23, 2, 1, 1),
+                fila(2L, HOY.minusDays(1), 40, 2, 2, 0)));
+
+        // When
+        periodScoreboard.load(HOY);
+
+        // Then
+        assertEquals(2, periodScoreboard.days());
+        verify(gameRepository, times(1)).findDailyTotalsSince(any());
+    }
+
+    @Test
+    void testFind_MergesDaysInPeriod() {
+        // Given
+        when(gameRepository.findDailyTotalsSince(any())).thenReturn(List.of(
+                fila(1L, HOY, 23, 2, 1, 1),
+                fila(1L, HOY.minusDays(1), 20, 1, 1, 0),
+                fila(2L, HOY.minusDays(1), 40, 2, 2, 0),
+                fila(2L, HOY.minusDays(5), 60, 3, 3, 0)));
+        when(playerRepository.findAllById(anyIterable())).thenReturn(List.of(ana, beto));
+        periodScoreboard.load(HOY);
+
+        // When
+        List<ScoreboardDTO> result = periodScoreboard.find(HOY.minusDays(1), HOY, 10, 0);
+
+        // Then - Ana suma dos días y queda primera; el día de hace 5 días no entra
+        assertEquals(List.of(
+                new ScoreboardDTO(1L, "Ana", 43, 3L, 2L, 1L),
+                new ScoreboardDTO(2L, "Beto", 40, 2L, 2L, 0L)), result);
+    }
+
+    @Test
+    void testFind_Paged() {
+        // Given
+        when(gameRepository.findDailyTotalsSince(any())).thenReturn(List.of(
+                fila(1L, HOY, 10, 1, 0, 1),
+                fila(2L, HOY, 10, 1, 0, 1)));
+        when(playerRepository.findAllById(List.of(2L))).thenReturn(List.of(beto));
+        periodScoreboard.load(HOY);
+
+        // When - A igual puntaje ordena por id
+        List<ScoreboardDTO> result = periodScoreboard.find(HOY, HOY, 1, 1);
+
+        // Then
+        assertEquals(List.of(new ScoreboardDTO(2L, "Beto", 10, 1L, 0L, 1L)), result);
+    }
+
+    @Test
+    void testRecordGame_AddedToItsDay() {
+        // Given
+        when(playerRepository.findAllById(anyIterable())).thenReturn(List.of(ana));
+        Game game = new Game(null, ana, "GANADO", 20, HOY.atTime(10, 0), null);
+
+        // When
+        periodScoreboard.recordGame(game);
+        periodScoreboard.recordGame(new Game(null, ana, "PERDIDO", 2, HOY.atTime(11, 0), null));
+
+        // Then
+        assertEquals(List.of(new ScoreboardDTO(1L, "Ana", 22, 2L, 1L, 1L)),
+                periodScoreboard.find(HOY, HOY, 10, 0));
+        assertTrue(periodScoreboard.find(HOY.minusDays(1), HOY.minusDays(1), 10, 0).isEmpty());
+    }
+
+    @Test
+    void testPurge_RemovesExpiredDays() {
+        // Given
+        periodScoreboard.recordGame(new Game(null, ana, "GANADO", 20, HOY.minusDays(29).atTime(10, 0), null));
+        periodScoreboard.recordGame(new Game(null, ana, "GANADO", 20, HOY.atTime(10, 0), null));
+
+        // When - Un día después el más viejo queda fuera de la retención
+        periodScoreboard.purge(HOY.plusDays(1));
+
+        // Then
+        assertEquals(1, periodScoreboard.days());
+    }
+
+    @Test
+    void testFind_OutsideRetention() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> periodScoreboard.find(HOY.minusDays(30), HOY, 10, 0));
+        verifyNoInteractions(playerRepository);
+    }
+
+    private static GameRepository.DailyTotals fila(Long idJugador, LocalDate dia, long puntaje,
+                                                   long jugadas, long ganadas, long perdidas) {
+        return new GameRepository.DailyTotals() {
+            public Long getIdJugador() { return idJugador; }
+            public LocalDate getDia() { return dia; }
+            public Long getPuntaje() { return puntaje; }
+            public Long getJugadas() { return jugadas; }
+            public Long getGanadas() { return ganadas; }
+            public Long getPerdidas() { return perdidas; }
+        };
+    }
+}
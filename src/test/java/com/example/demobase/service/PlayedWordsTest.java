@@ -0,0 +1,113 @@
+package com.example.demobase.service;
+
+import com.example.demobase.model.PlayerWords;
+import com.example.demobase.repository.PlayerWordsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayedWordsTest {
+
+    @Mock
+    private PlayerWordsRepository playerWordsRepository;
+
+    private PlayedWords playedWords;
+
+    @BeforeEach
+    void setUp() {
+        playedWords = new PlayedWords(playerWordsRepository, new SimpleMeterRegistry(), 1024 * 1024);
+    }
+
+    @Test
+    void testGet_LoadsOncePerPlayer() {
+        // Given
+        BitSet jugadas = new BitSet();
+        jugadas.set(4);
+        when(playerWordsRepository.findById(1L)).thenReturn(Optional.of(new PlayerWords(1L, jugadas, 0L)));
+
+        // When
+        playedWords.get(1L);
+        BitSet result = playedWords.get(1L);
+
+        // Then
+        assertEquals(jugadas, result);
+        verify(playerWordsRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testGet_PlayerWithoutRowHasPlayedNothing() {
+        // Given
+        when(playerWordsRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertTrue(playedWords.get(2L).isEmpty());
+    }
+
+    @Test
+    void testMarkPlayed_SavesCopyAndUpdatesCache() {
+        // Given
+        BitSet jugadas = new BitSet();
+        jugadas.set(4);
+        when(playerWordsRepository.findById(1L)).thenReturn(Optional.of(new PlayerWords(1L, jugadas, 0L)));
+        BitSet leida = playedWords.get(1L);
+
+        // When
+        playedWords.markPlayed(1L, 9L);
+
+        // Then - La copia que ya tenía un lector no cambia
+        ArgumentCaptor<PlayerWords> fila = ArgumentCaptor.forClass(PlayerWords.class);
+        verify(playerWordsRepository).save(fila.capture());
+        assertEquals(Set.of(4, 9), bits(fila.getValue().getPalabras()));
+        assertEquals(Set.of(4), bits(leida));
+        assertEquals(Set.of(4, 9), bits(playedWords.get(1L)));
+        verify(playerWordsRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testMarkPlayed_CreatesRowForNewPlayer() {
+        // Given
+        when(playerWordsRepository.findById(3L)).thenReturn(Optional.empty());
+
+        // When
+        playedWords.markPlayed(3L, 1L);
+
+        // Then
+        ArgumentCaptor<PlayerWords> fila = ArgumentCaptor.forClass(PlayerWords.class);
+        verify(playerWordsRepository).save(fila.capture());
+        assertEquals(3L, fila.getValue().getIdJugador());
+        assertEquals(Set.of(1), bits(fila.getValue().getPalabras()));
+    }
+
+    @Test
+    void testRemovePlayer_DeletesRowAndInvalidates() {
+        // Given
+        when(playerWordsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(playerWordsRepository.existsById(1L)).thenReturn(true);
+        playedWords.get(1L);
+
+        // When
+        playedWords.removePlayer(1L);
+        playedWords.get(1L);
+
+        // Then
+        verify(playerWordsRepository, times(1)).deleteById(1L);
+        verify(playerWordsRepository, times(2)).findById(1L);
+    }
+
+    private static Set<Integer> bits(BitSet ids) {
+        return ids.stream().boxed().collect(Collectors.toSet());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.PlayerDTO;
 import com.example.demobase.model.Player;
 import com.example.demobase.repository.PlayerRepository;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -25,6 +27,15 @@ class PlayerServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private ScoreboardCache scoreboardCache;
+
+    @Mock
+    private PlayedWords playedWords;
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -42,17 +53,36 @@ class PlayerServiceTest {
         // Given
         Player player2 = new Player(2L, "María García", LocalDate.of(2025, 1, 20));
         List<Player> players = Arrays.asList(player, player2);
-        when(playerRepository.findAll()).thenReturn(players);
+        when(playerRepository.findByIdGreaterThanOrderById(0L, Limit.of(101))).thenReturn(players);
 
         // When
-        List<PlayerDTO> result = playerService.getAllPlayers();
+        List<PlayerDTO> result = playerService.getAllPlayers(null, 100).getElementos();
 
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Juan Pérez", result.get(0).getNombre());
         assertEquals("María García", result.get(1).getNombre());
-        verify(playerRepository, times(1)).findAll();
+        verify(playerRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllPlayers_NextPage() {
+        // Given - Se pide un elemento de más para saber si hay otra página
+        Player player2 = new Player(2L, "María García", LocalDate.of(2025, 1, 20));
+        when(playerRepository.findByIdGreaterThanOrderById(0L, Limit.of(2))).thenReturn(Arrays.asList(player, player2));
+        when(playerRepository.findByIdGreaterThanOrderById(1L, Limit.of(2))).thenReturn(List.of(player2));
+
+        // When
+        PageDTO<PlayerDTO> primera = playerService.getAllPlayers(null, 1);
+        PageDTO<PlayerDTO> segunda = playerService.getAllPlayers(Long.valueOf(primera.getSiguiente()), 1);
+
+        // Then
+        assertEquals(1, primera.getElementos().size());
+        assertEquals("1", primera.getSiguiente());
+        assertEquals("María García", segunda.getElementos().get(0).getNombre());
+        assertNull(segunda.getSiguiente());
+        assertThrows(RuntimeException.class, () -> playerService.getAllPlayers(null, 0));
     }
 
     @Test
@@ -94,6 +124,8 @@ class PlayerServiceTest {
         assertEquals("Juan Pérez", result.getNombre());
         assertEquals(LocalDate.of(2025, 1, 15), result.getFecha());
         verify(playerRepository, times(1)).save(any(Player.class));
+        verify(leaderboard, times(1)).addPlayer(player);
+        verify(scoreboardCache, times(1)).invalidatePlayer(1L);
     }
 
     @Test
@@ -130,6 +162,8 @@ class PlayerServiceTest {
         assertEquals(LocalDate.of(2025, 1, 20), result.getFecha());
         verify(playerRepository, times(1)).findById(1L);
         verify(playerRepository, times(1)).save(any(Player.class));
+        verify(leaderboard, times(1)).renamePlayer(updatedPlayer);
+        verify(scoreboardCache, times(1)).invalidatePlayer(1L);
     }
 
     @Test
@@ -155,6 +189,9 @@ class PlayerServiceTest {
         // Then
         verify(playerRepository, times(1)).existsById(1L);
         verify(playerRepository, times(1)).deleteById(1L);
+        verify(leaderboard, times(1)).removePlayer(1L);
+        verify(scoreboardCache, times(1)).invalidatePlayer(1L);
+        verify(playedWords, times(1)).removePlayer(1L);
     }
 
     @Test
@@ -166,6 +203,8 @@ class PlayerServiceTest {
         assertThrows(RuntimeException.class, () -> playerService.deletePlayer(999L));
         verify(playerRepository, times(1)).existsById(999L);
         verify(playerRepository, never()).deleteById(anyLong());
+        verify(leaderboard, never()).removePlayer(anyLong());
+        verify(playedWords, never()).removePlayer(anyLong());
     }
 }
 
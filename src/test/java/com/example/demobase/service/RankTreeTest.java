@@ -0,0 +1,82 @@
+package com.example.demobase.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankTreeTest {
+
+    @Test
+    void testInsertRankAndGet() {
+        RankTree<Integer> arbol = new RankTree<>(Comparator.reverseOrder());
+        List.of(5, 1, 9, 3, 7).forEach(arbol::insert);
+
+        // De mayor a menor: 9, 7, 5, 3, 1
+        assertEquals(5, arbol.size());
+        assertEquals(0, arbol.rank(9));
+        assertEquals(2, arbol.rank(5));
+        assertEquals(4, arbol.rank(1));
+        assertEquals(7, arbol.get(1));
+        assertEquals(List.of(7, 5, 3), arbol.slice(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> arbol.get(5));
+    }
+
+    @Test
+    void testInsert_ReplacesEqualElement() {
+        RankTree<Integer> arbol = new RankTree<>(Comparator.naturalOrder());
+        arbol.insert(4);
+        arbol.insert(4);
+
+        assertEquals(1, arbol.size());
+        assertTrue(arbol.remove(4));
+        assertFalse(arbol.remove(4));
+        assertEquals(0, arbol.size());
+    }
+
+    @Test
+    void testSlice_OutOfRange() {
+        RankTree<Integer> arbol = new RankTree<>(Comparator.naturalOrder());
+        List.of(1, 2, 3).forEach(arbol::insert);
+
+        assertEquals(List.of(2, 3), arbol.slice(1, 10));
+        assertEquals(List.of(), arbol.slice(3, 2));
+        assertEquals(List.of(1), arbol.slice(-2, 3));
+    }
+
+    @Test
+    void testRandomOperations_MatchSortedList() {
+        // Mismas operaciones sobre el árbol y sobre una lista ordenada
+        Random random = new Random(42);
+        RankTree<Integer> arbol = new RankTree<>(Comparator.naturalOrder());
+        List<Integer> esperado = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int valor = random.nextInt(1000);
+            int posicion = Collections.binarySearch(esperado, valor);
+            if (random.nextBoolean()) {
+                arbol.insert(valor);
+                if (posicion < 0) {
+                    esperado.add(-posicion - 1, valor);
+                }
+            } else {
+                assertEquals(posicion >= 0, arbol.remove(valor));
+                if (posicion >= 0) {
+                    esperado.remove(posicion);
+                }
+            }
+        }
+
+        assertEquals(esperado.size(), arbol.size());
+        assertEquals(esperado, arbol.slice(0, arbol.size()));
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(i, arbol.rank(esperado.get(i)));
+            assertEquals(esperado.get(i), arbol.get(i));
+        }
+    }
+}
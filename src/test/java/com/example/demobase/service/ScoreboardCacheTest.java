@@ -0,0 +1,159 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.repository.PlayerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreboardCacheTest {
+
+    private static final ScoreboardDTO JUAN = new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L);
+    private static final ScoreboardDTO MARIA = new ScoreboardDTO(2L, "María García", 20, 1L, 1L, 0L);
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private ScoreboardCache scoreboardCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scoreboardCache = new ScoreboardCache(playerRepository, meterRegistry, 60000, 30000, 100);
+    }
+
+    @Test
+    void testPage_SecondReadIsAHit() {
+        // Given
+        when(playerRepository.findScoreboard(10, 0)).thenReturn(List.of(JUAN, MARIA));
+
+        // When
+        scoreboardCache.page(10, 0);
+        List<ScoreboardDTO> result = scoreboardCache.page(10, 0);
+
+        // Then
+        assertEquals(List.of(JUAN, MARIA), result);
+        verify(playerRepository, times(1)).findScoreboard(10, 0);
+        assertEquals(1, gets("scoreboard.pages", "hit"));
+        assertEquals(1, gets("scoreboard.pages", "miss"));
+    }
+
+    @Test
+    void testPage_ConcurrentMissesLoadOnce() throws Exception {
+        // Given - La consulta tarda hasta que todos los pedidos están esperando
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(playerRepository.findScoreboard(10, 0)).thenAnswer(invocation -> {
+            consultando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return List.of(JUAN);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // When
+            List<Future<List<ScoreboardDTO>>> pedidos = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                pedidos.add(executor.submit(() -> scoreboardCache.page(10, 0)));
+            }
+            assertTrue(consultando.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            liberar.countDown();
+
+            // Then
+            for (Future<List<ScoreboardDTO>> pedido : pedidos) {
+                assertEquals(List.of(JUAN), pedido.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        verify(playerRepository, times(1)).findScoreboard(10, 0);
+    }
+
+    @Test
+    void testPage_RefreshedInBackgroundBeforeExpiry() throws Exception {
+        // Given - Se recalcula a los 50 ms y vence al minuto
+        // El recálculo espera a liberar: si terminara en el acto, la lectura ya podría ver el valor nuevo
+        scoreboardCache = new ScoreboardCache(playerRepository, meterRegistry, 60000, 50, 100);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(playerRepository.findScoreboard(10, 0)).thenReturn(List.of(JUAN)).thenAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return List.of(MARIA);
+        });
+        scoreboardCache.page(10, 0);
+        Thread.sleep(100);
+
+        // When - La lectura devuelve el valor anterior sin esperar y dispara el recálculo
+        assertEquals(List.of(JUAN), scoreboardCache.page(10, 0));
+
+        // Then
+        verify(playerRepository, timeout(5000).times(2)).findScoreboard(10, 0);
+        liberar.countDown();
+        long limite = System.currentTimeMillis() + 5000;
+        while (!scoreboardCache.page(10, 0).equals(List.of(MARIA)) && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(MARIA), scoreboardCache.page(10, 0));
+    }
+
+    @Test
+    void testGamesArchived_InvalidatesPagesAndAffectedPlayers() {
+        // Given
+        when(playerRepository.findScoreboard(10, 0)).thenReturn(List.of(JUAN, MARIA));
+        when(playerRepository.findScoreboardByPlayer(1L)).thenReturn(Optional.of(JUAN));
+        when(playerRepository.findScoreboardByPlayer(2L)).thenReturn(Optional.of(MARIA));
+        scoreboardCache.page(10, 0);
+        scoreboardCache.player(1L);
+        scoreboardCache.player(2L);
+
+        // When - Terminó una partida de Juan
+        scoreboardCache.onGamesArchived(new GamesArchivedEvent(Set.of(1L)));
+        scoreboardCache.page(10, 0);
+        scoreboardCache.player(1L);
+        scoreboardCache.player(2L);
+
+        // Then - María sigue en caché
+        verify(playerRepository, times(2)).findScoreboard(10, 0);
+        verify(playerRepository, times(2)).findScoreboardByPlayer(1L);
+        verify(playerRepository, times(1)).findScoreboardByPlayer(2L);
+    }
+
+    @Test
+    void testInvalidatePlayer() {
+        // Given - Un jugador que todavía no existe queda en caché como vacío
+        when(playerRepository.findScoreboardByPlayer(3L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new ScoreboardDTO(3L, "Nuevo", 0, 0L, 0L, 0L)));
+        assertTrue(scoreboardCache.player(3L).isEmpty());
+
+        // When
+        scoreboardCache.invalidatePlayer(3L);
+
+        // Then
+        assertEquals("Nuevo", scoreboardCache.player(3L).orElseThrow().getNombreJugador());
+    }
+
+    private double gets(String cache, String resultado) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", resultado).functionCounter().count();
+    }
+}
@@ -1,119 +1,92 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.RankingDTO;
 import com.example.demobase.dto.ScoreboardDTO;
-import com.example.demobase.model.Game;
-import com.example.demobase.model.Player;
-import com.example.demobase.model.Word;
-import com.example.demobase.repository.GameRepository;
-import com.example.demobase.repository.PlayerRepository;
-import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ScoreboardServiceTest {
 
     @Mock
-    private PlayerRepository playerRepository;
+    private Leaderboard leaderboard;
 
     @Mock
-    private GameRepository gameRepository;
+    private PeriodScoreboard periodScoreboard;
+
+    @Mock
+    private ScoreboardCache scoreboardCache;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private GameMetrics gameMetrics = new GameMetrics(meterRegistry);
 
     @InjectMocks
     private ScoreboardService scoreboardService;
 
-    private Player player1;
-    private Player player2;
-    private Word word;
-    private Game game1;
-    private Game game2;
-    private Game game3;
-
-    @BeforeEach
-    void setUp() {
-        player1 = new Player(1L, "Juan Pérez", LocalDate.of(2025, 1, 15));
-        player2 = new Player(2L, "María García", LocalDate.of(2025, 1, 20));
-        word = new Word(1L, "PROGRAMADOR", true);
-
-        game1 = new Game();
-        game1.setId(1L);
-        game1.setJugador(player1);
-        game1.setPalabra(word);
-        game1.setResultado("GANADO");
-        game1.setPuntaje(20);
-        game1.setFechaPartida(LocalDateTime.now());
-
-        game2 = new Game();
-        game2.setId(2L);
-        game2.setJugador(player1);
-        game2.setPalabra(word);
-        game2.setResultado("GANADO");
-        game2.setPuntaje(20);
-        game2.setFechaPartida(LocalDateTime.now());
-
-        game3 = new Game();
-        game3.setId(3L);
-        game3.setJugador(player1);
-        game3.setPalabra(word);
-        game3.setResultado("PERDIDO");
-        game3.setPuntaje(5);
-        game3.setFechaPartida(LocalDateTime.now());
-    }
-
     @Test
     void testGetScoreboard() {
-        // Given
-        List<Player> players = Arrays.asList(player1, player2);
-        List<Game> player1Games = Arrays.asList(game1, game2, game3);
-        List<Game> player2Games = Arrays.asList();
-
-        when(playerRepository.findAll()).thenReturn(players);
-        when(gameRepository.findByJugador(player1)).thenReturn(player1Games);
-        when(gameRepository.findByJugador(player2)).thenReturn(player2Games);
+        // Given - La caché devuelve los puntajes ya agregados y ordenados
+        ScoreboardDTO player1Stats = new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L);
+        ScoreboardDTO player2Stats = new ScoreboardDTO(2L, "María García", 0, 0L, 0L, 0L);
+        when(scoreboardCache.page(100, 0)).thenReturn(Arrays.asList(player1Stats, player2Stats));
 
         // When
-        List<ScoreboardDTO> result = scoreboardService.getScoreboard();
+        List<ScoreboardDTO> result = scoreboardService.getScoreboard(100, 0);
 
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        
-        ScoreboardDTO player1Stats = result.get(0);
-        assertEquals(1L, player1Stats.getIdJugador());
-        assertEquals("Juan Pérez", player1Stats.getNombreJugador());
-        assertEquals(45, player1Stats.getPuntajeTotal()); // 20 + 20 + 5
-        assertEquals(3L, player1Stats.getPartidasJugadas());
-        assertEquals(2L, player1Stats.getPartidasGanadas());
-        assertEquals(1L, player1Stats.getPartidasPerdidas());
-
-        ScoreboardDTO player2Stats = result.get(1);
-        assertEquals(2L, player2Stats.getIdJugador());
-        assertEquals(0, player2Stats.getPuntajeTotal());
-        assertEquals(0L, player2Stats.getPartidasJugadas());
-
-        verify(playerRepository, times(1)).findAll();
-        verify(gameRepository, times(1)).findByJugador(player1);
-        verify(gameRepository, times(1)).findByJugador(player2);
+        assertEquals(1L, result.get(0).getIdJugador());
+        assertEquals(45, result.get(0).getPuntajeTotal());
+        assertEquals(0L, result.get(1).getPartidasJugadas());
+
+        verify(scoreboardCache, times(1)).page(100, 0);
     }
 
     @Test
-    void testGetScoreboardByPlayer_Success() {
+    void testGetScoreboard_Paged() {
         // Given
-        List<Game> player1Games = Arrays.asList(game1, game2, game3);
+        when(scoreboardCache.page(10, 20)).thenReturn(List.of());
+
+        // When
+        List<ScoreboardDTO> result = scoreboardService.getScoreboard(10, 20);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(scoreboardCache, times(1)).page(10, 20);
+    }
 
-        when(playerRepository.findById(1L)).thenReturn(java.util.Optional.of(player1));
-        when(gameRepository.findByJugador(player1)).thenReturn(player1Games);
+    @Test
+    void testGetScoreboard_InvalidPaging() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> scoreboardService.getScoreboard(0, 0));
+        assertThrows(RuntimeException.class, () -> scoreboardService.getScoreboard(1001, 0));
+        assertThrows(RuntimeException.class, () -> scoreboardService.getScoreboard(10, -1));
+        verify(scoreboardCache, never()).page(anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetScoreboardByPlayer_Success() {
+        // Given
+        ScoreboardDTO stats = new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L);
+        when(scoreboardCache.player(1L)).thenReturn(Optional.of(stats));
 
         // When
         ScoreboardDTO result = scoreboardService.getScoreboardByPlayer(1L);
@@ -122,47 +95,97 @@ class ScoreboardServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getIdJugador());
         assertEquals("Juan Pérez", result.getNombreJugador());
-        assertEquals(45, result.getPuntajeTotal()); // 20 + 20 + 5
+        assertEquals(45, result.getPuntajeTotal());
         assertEquals(3L, result.getPartidasJugadas());
         assertEquals(2L, result.getPartidasGanadas());
         assertEquals(1L, result.getPartidasPerdidas());
 
-        verify(playerRepository, times(1)).findById(1L);
-        verify(gameRepository, times(1)).findByJugador(player1);
+        verify(scoreboardCache, times(1)).player(1L);
     }
 
     @Test
     void testGetScoreboardByPlayer_NotFound() {
         // Given
-        when(playerRepository.findById(999L)).thenReturn(java.util.Optional.empty());
+        when(scoreboardCache.player(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> scoreboardService.getScoreboardByPlayer(999L));
-        verify(playerRepository, times(1)).findById(999L);
-        verify(gameRepository, never()).findByJugador(any(Player.class));
+        verify(scoreboardCache, times(1)).player(999L);
+    }
+
+    @Test
+    void testGetRanking() {
+        // Given
+        RankingDTO ranking = new RankingDTO(3, 1L, "Juan Pérez", 45, 3L, 2L, 1L);
+        when(leaderboard.rank(1L)).thenReturn(Optional.of(ranking));
+
+        // When
+        RankingDTO result = scoreboardService.getRanking(1L);
+
+        // Then
+        assertEquals(3, result.getPosicion());
+        verifyNoInteractions(scoreboardCache);
+        assertEquals(1, meterRegistry.get("scoreboard.query").tag("consulta", "ranking").timer().count());
     }
 
     @Test
-    void testGetScoreboard_OrderedByScore() {
+    void testGetRanking_NotFound() {
         // Given
-        Player highScorePlayer = new Player(3L, "Alto Puntaje", LocalDate.now());
-        Game highScoreGame = new Game();
-        highScoreGame.setJugador(highScorePlayer);
-        highScoreGame.setPuntaje(100);
+        when(leaderboard.rank(999L)).thenReturn(Optional.empty());
 
-        List<Player> players = Arrays.asList(player1, highScorePlayer);
-        when(playerRepository.findAll()).thenReturn(players);
-        when(gameRepository.findByJugador(player1)).thenReturn(Arrays.asList(game1));
-        when(gameRepository.findByJugador(highScorePlayer)).thenReturn(Arrays.asList(highScoreGame));
+        // When & Then
+        assertThrows(RuntimeException.class, () -> scoreboardService.getRanking(999L));
+    }
+
+    @Test
+    void testGetTop() {
+        // Given
+        when(leaderboard.top(10)).thenReturn(List.of(new RankingDTO(1, 1L, "Juan Pérez", 45, 3L, 2L, 1L)));
 
         // When
-        List<ScoreboardDTO> result = scoreboardService.getScoreboard();
+        List<RankingDTO> result = scoreboardService.getTop(10);
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        // El jugador con mayor puntaje debe estar primero
-        assertTrue(result.get(0).getPuntajeTotal() >= result.get(1).getPuntajeTotal());
+        assertEquals(1, result.size());
+        assertThrows(RuntimeException.class, () -> scoreboardService.getTop(0));
+        assertThrows(RuntimeException.class, () -> scoreboardService.getTop(1001));
+        verify(leaderboard, times(1)).top(anyInt());
+    }
+
+    @Test
+    void testGetAround() {
+        // Given
+        when(leaderboard.around(1L, 2)).thenReturn(Optional.of(List.of(new RankingDTO(1, 1L, "Juan Pérez", 45, 3L, 2L, 1L))));
+        when(leaderboard.around(999L, 2)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertEquals(1, scoreboardService.getAround(1L, 2).size());
+        assertThrows(RuntimeException.class, () -> scoreboardService.getAround(999L, 2));
+        assertThrows(RuntimeException.class, () -> scoreboardService.getAround(1L, -1));
+    }
+
+    @Test
+    void testGetWeeklyScoreboard_MondayToSunday() {
+        // Given - Miércoles 15 de enero de 2025
+        when(periodScoreboard.find(LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 19), 10, 0)).thenReturn(List.of());
+
+        // When
+        List<ScoreboardDTO> result = scoreboardService.getWeeklyScoreboard(LocalDate.of(2025, 1, 15), 10, 0);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(periodScoreboard, times(1)).find(LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 19), 10, 0);
     }
-}
 
+    @Test
+    void testGetMonthlyAndDailyScoreboard() {
+        // When
+        scoreboardService.getMonthlyScoreboard(LocalDate.of(2024, 2, 10), 10, 0);
+        scoreboardService.getDailyScoreboard(null, 10, 0);
+
+        // Then - Sin fecha se usa el día actual
+        verify(periodScoreboard, times(1)).find(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), 10, 0);
+        verify(periodScoreboard, times(1)).find(LocalDate.now(), LocalDate.now(), 10, 0);
+        assertThrows(RuntimeException.class, () -> scoreboardService.getDailyScoreboard(null, 0, 0));
+    }
+}
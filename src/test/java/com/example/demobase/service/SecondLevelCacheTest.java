@@ -0,0 +1,99 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.PlayerDTO;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.WordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testFindById_ReadsFromCache() {
+        // Given
+        Player player = playerRepository.save(new Player(null, "Caché", LocalDate.now()));
+        Word word = wordRepository.save(new Word(null, "SEGUNDONIVEL"));
+        playerRepository.findById(player.getId()).orElseThrow();
+        wordRepository.findById(word.getId()).orElseThrow();
+        double jugadores = hits(SecondLevelCache.JUGADORES);
+        double palabras = hits(SecondLevelCache.PALABRAS);
+
+        // When - Cada lectura es una transacción distinta
+        playerRepository.findById(player.getId()).orElseThrow();
+        playerRepository.findById(player.getId()).orElseThrow();
+        wordRepository.findById(word.getId()).orElseThrow();
+
+        // Then
+        assertEquals(jugadores + 2, hits(SecondLevelCache.JUGADORES));
+        assertEquals(palabras + 1, hits(SecondLevelCache.PALABRAS));
+    }
+
+    @Test
+    void testUpdatePlayer_CachedPlayerIsReplaced() {
+        // Given
+        Player player = playerRepository.save(new Player(null, "Antes", LocalDate.now()));
+        playerRepository.findById(player.getId()).orElseThrow();
+
+        // When
+        playerService.updatePlayer(player.getId(), new PlayerDTO(null, "Después", null));
+
+        // Then
+        assertEquals("Después", playerRepository.findById(player.getId()).orElseThrow().getNombre());
+    }
+
+    @Test
+    void testDeletePlayer_CachedPlayerIsRemoved() {
+        // Given
+        Player player = playerRepository.save(new Player(null, "Borrado", LocalDate.now()));
+        playerRepository.findById(player.getId()).orElseThrow();
+
+        // When
+        playerService.deletePlayer(player.getId());
+
+        // Then
+        assertTrue(playerRepository.findById(player.getId()).isEmpty());
+    }
+
+    @Test
+    void testGetAllPlayers_PageCachedUntilPlayersChange() {
+        // Given
+        Player player = playerRepository.save(new Player(null, "Listado", LocalDate.now()));
+        playerService.getAllPlayers(player.getId() - 1, 10);
+        double consultas = hits(SecondLevelCache.CONSULTAS);
+
+        // When
+        int antes = playerService.getAllPlayers(player.getId() - 1, 10).getElementos().size();
+        double aciertos = hits(SecondLevelCache.CONSULTAS);
+        playerService.createPlayer(new PlayerDTO(null, "Nuevo", null));
+        int despues = playerService.getAllPlayers(player.getId() - 1, 10).getElementos().size();
+
+        // Then - La segunda lectura salió de la caché y el alta la invalidó
+        assertEquals(consultas + 1, aciertos);
+        assertEquals(antes + 1, despues);
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+}
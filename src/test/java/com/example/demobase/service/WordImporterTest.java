@@ -0,0 +1,133 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.WordImportDTO;
+import com.example.demobase.model.Word;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class WordImporterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private WordPool wordPool;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WordImporter wordImporter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Lotes chicos para que el archivo se reparta en varios
+        wordImporter = new WordImporter(jdbcTemplate, transactionManager, wordPool,
+                entityManager.getEntityManager().getEntityManagerFactory(), 3);
+    }
+
+    @Test
+    void testImportWords_NormalizesAndDedupes() throws Exception {
+        // Given - Una palabra que ya está en la tabla
+        entityManager.persist(new Word(null, "PREEXISTENTE"));
+        entityManager.flush();
+        String diccionario = String.join("\n",
+                "murciélago", "  Pingüino ", "ÑANDÚ", "", "preexistente", "MURCIELAGO",
+                "dos palabras", "r2d2", "ciudadano", "ñandu", "ZORRO");
+
+        // When
+        WordImportDTO result = wordImporter.importWords(stream(diccionario));
+
+        // Then
+        assertEquals(11L, result.getLeidas());
+        assertEquals(5L, result.getInsertadas());
+        assertEquals(3L, result.getRepetidas());
+        assertEquals(3L, result.getDescartadas());
+        assertEquals(List.of("CIUDADANO", "MURCIELAGO", "PINGUINO", "PREEXISTENTE", "ZORRO", "ÑANDU"), imported());
+        verify(wordPool, times(1)).reload();
+    }
+
+    @Test
+    void testImportWords_NewRowsHaveVersionZero() throws Exception {
+        // When
+        wordImporter.importWords(stream("ABECEDARIO\n"));
+
+        // Then
+        Word word = entityManager.getEntityManager()
+                .createQuery("SELECT w FROM Word w WHERE w.palabra = 'ABECEDARIO'", Word.class)
+                .getSingleResult();
+        assertEquals(0L, word.getVersion());
+    }
+
+    @Test
+    void testImportWords_ManyBatches() throws Exception {
+        // Given - 10.000 palabras distintas, cada una dos veces
+        wordImporter = new WordImporter(jdbcTemplate, transactionManager, wordPool,
+                entityManager.getEntityManager().getEntityManagerFactory(), 500);
+        StringBuilder diccionario = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            diccionario.append(word(i % 10000)).append('\n');
+        }
+
+        // When
+        WordImportDTO result = wordImporter.importWords(stream(diccionario.toString()));
+
+        // Then
+        assertEquals(20000L, result.getLeidas());
+        assertEquals(10000L, result.getInsertadas());
+        assertEquals(10000L, result.getRepetidas());
+        assertEquals(10000, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM words WHERE palabra LIKE 'IMPORT%'", Integer.class));
+    }
+
+    @Test
+    void testImportWords_NothingNewDoesNotReloadPool() throws Exception {
+        // When
+        WordImportDTO result = wordImporter.importWords(stream("123\n\n"));
+
+        // Then
+        assertEquals(0L, result.getInsertadas());
+        assertEquals(2L, result.getDescartadas());
+        verifyNoInteractions(wordPool);
+    }
+
+    private List<String> imported() {
+        return jdbcTemplate.queryForList(
+                "SELECT palabra FROM words WHERE palabra IN ('MURCIELAGO', 'PINGUINO', 'ÑANDU', 'CIUDADANO', 'ZORRO', " +
+                        "'PREEXISTENTE') ORDER BY palabra", String.class);
+    }
+
+    // Palabra de solo letras a partir de un número
+    private static String word(int n) {
+        StringBuilder palabra = new StringBuilder("IMPORT");
+        do {
+            palabra.append((char) ('A' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return palabra.toString();
+    }
+
+    private static ByteArrayInputStream stream(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.WordDTO;
+import com.example.demobase.model.Dificultad;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.WordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordPoolTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    private MeterRegistry meterRegistry;
+    private WordPool wordPool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        wordPool = new WordPool(wordRepository, meterRegistry);
+    }
+
+    @Test
+    void testNext_EachWordOncePerPlayer() {
+        // Given
+        when(wordRepository.findAllForPool()).thenReturn(words(1L, 2L, 3L));
+        when(wordRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(new Word(invocation.getArgument(0), "PALABRA")));
+        BitSet jugadas = new BitSet();
+
+        // When - Cada palabra que sale se marca como jugada
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Long id = wordPool.next(jugadas, null, null).orElseThrow().getId();
+            ids.add(id);
+            jugadas.set(id.intValue());
+        }
+
+        // Then - El jugador ya vio todas, pero otro jugador todavía puede jugarlas
+        assertEquals(Set.of(1L, 2L, 3L), ids);
+        assertTrue(wordPool.next(jugadas, null, null).isEmpty());
+        assertTrue(wordPool.next(new BitSet(), null, null).isPresent());
+        assertEquals(3, wordPool.available());
+        verify(wordRepository, times(1)).findAllForPool();
+    }
+
+    @Test
+    void testNext_SkipsWordsAlreadyPlayed() {
+        // Given - El jugador ya jugó la palabra 1
+        when(wordRepository.findAllForPool()).thenReturn(words(1L, 2L));
+        when(wordRepository.findById(2L)).thenReturn(Optional.of(new Word(2L, "COMPUTADORA")));
+        BitSet jugadas = new BitSet();
+        jugadas.set(1);
+
+        // When & Then
+        for (int i = 0; i < 20; i++) {
+            assertEquals(2L, wordPool.next(jugadas, null, null).orElseThrow().getId());
+        }
+        verify(wordRepository, never()).findById(1L);
+    }
+
+    @Test
+    void testNext_FindsLastUnplayedWordInLargeDictionary() {
+        // Given - De 1000 palabras el jugador jugó todas menos una
+        Long[] ids = new Long[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1L;
+        }
+        when(wordRepository.findAllForPool()).thenReturn(words(ids));
+        when(wordRepository.findById(777L)).thenReturn(Optional.of(new Word(777L, "PALABRA")));
+        BitSet jugadas = new BitSet();
+        jugadas.set(1, 1001);
+        jugadas.clear(777);
+
+        // When
+        Optional<Word> result = wordPool.next(jugadas, null, null);
+
+        // Then
+        assertEquals(777L, result.orElseThrow().getId());
+    }
+
+    @Test
+    void testNext_FallbackWalksEveryDeckFromAnyStart() {
+        // Given - 999 palabras de tres largos con los ids intercalados entre mazos; solo queda la primera
+        List<WordDTO> palabras = new ArrayList<>();
+        for (long id = 1; id <= 999; id++) {
+            palabras.add(new WordDTO(id, "PALABRASXY".substring(0, 8 + (int) (id % 3))));
+        }
+        when(wordRepository.findAllForPool()).thenReturn(palabras);
+        when(wordRepository.findById(1L)).thenReturn(Optional.of(new Word(1L, "PALABRAS0")));
+        BitSet jugadas = new BitSet();
+        jugadas.set(2, 1000);
+
+        // When & Then - Desde cualquier palabra de partida el recorrido vuelve hasta el comienzo
+        for (int i = 0; i < 50; i++) {
+            assertEquals(1L, wordPool.next(jugadas, null, null).orElseThrow().getId());
+        }
+        jugadas.set(1);
+        assertTrue(wordPool.next(jugadas, null, null).isEmpty());
+    }
+
+    @Test
+    void testNext_NoWordsAvailable() {
+        // Given
+        when(wordRepository.findAllForPool()).thenReturn(List.of());
+
+        // When & Then
+        assertTrue(wordPool.next(new BitSet(), null, null).isEmpty());
+        verify(wordRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testReload_PicksUpNewWords() {
+        // Given
+        Long[] ids = new Long[100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1L;
+        }
+        when(wordRepository.findAllForPool()).thenReturn(words(1L)).thenReturn(words(ids));
+
+        // When & Then
+        assertEquals(1, wordPool.reload());
+        assertEquals(1, wordPool.available());
+        assertEquals(100, wordPool.reload());
+        assertEquals(100, wordPool.available());
+    }
+
+    @Test
+    void testAvailableGauge_LoadsPoolOnFirstRead() {
+        // Given
+        when(wordRepository.findAllForPool()).thenReturn(words(1L, 2L, 3L));
+
+        // When & Then - Publicado sin haber iniciado ninguna partida
+        assertEquals(3, meterRegistry.get("game.words.available").gauge().value());
+        verify(wordRepository, times(1)).findAllForPool();
+    }
+
+    @Test
+    void testReload_BucketsByDifficultyAndLength() {
+        // Given - Tres palabras comunes y repetitivas y tres con letras raras y sin repetir
+        when(wordRepository.findAllForPool()).thenReturn(List.of(
+                new WordDTO(1L, "AAAAAAAAAA"),
+                new WordDTO(2L, "ASASASASAS"),
+                new WordDTO(3L, "ASASASAS"),
+                new WordDTO(4L, "AEIOUSRLNT"),
+                new WordDTO(5L, "AEIOUSRLNTKW"),
+                new WordDTO(6L, "JXZQYKWVHB")));
+
+        // When
+        wordPool.reload();
+        Map<Dificultad, Map<Integer, Integer>> disponibles = wordPool.availableByDifficulty();
+
+        // Then - Dos palabras por tercio
+        assertEquals(2, disponibles.get(Dificultad.FACIL).values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(2, disponibles.get(Dificultad.MEDIA).values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(Map.of(10, 1, 12, 1), disponibles.get(Dificultad.DIFICIL));
+    }
+
+    @Test
+    void testNext_FiltersByDifficultyAndLength() {
+        // Given
+        when(wordRepository.findAllForPool()).thenReturn(List.of(
+                new WordDTO(1L, "AAAAAAAAAA"),
+                new WordDTO(2L, "ASASASASAS"),
+                new WordDTO(3L, "ASASASAS"),
+                new WordDTO(4L, "AEIOUSRLNT"),
+                new WordDTO(5L, "AEIOUSRLNTKW"),
+                new WordDTO(6L, "JXZQYKWVHB")));
+        when(wordRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(new Word(invocation.getArgument(0), "PALABRA")));
+        BitSet jugadas = new BitSet();
+
+        // When
+        Set<Long> dificiles = new HashSet<>();
+        Optional<Word> dificil;
+        while ((dificil = wordPool.next(jugadas, Dificultad.DIFICIL, null)).isPresent()) {
+            dificiles.add(dificil.get().getId());
+            jugadas.set(dificil.get().getId().intValue());
+        }
+
+        // Then - El jugador ya vio las difíciles pero le quedan las demás
+        assertEquals(Set.of(5L, 6L), dificiles);
+        assertEquals(3L, wordPool.next(jugadas, null, 8).orElseThrow().getId());
+        jugadas.set(3);
+        assertTrue(wordPool.next(jugadas, null, 8).isEmpty());
+        verify(wordRepository, times(1)).findAllForPool();
+    }
+
+    private static List<WordDTO> words(Long... ids) {
+        return Arrays.stream(ids).map(id -> new WordDTO(id, "PALABRA")).toList();
+    }
+}
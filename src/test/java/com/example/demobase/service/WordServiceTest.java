@@ -1,6 +1,9 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.PageDTO;
 import com.example.demobase.dto.WordDTO;
+import com.example.demobase.dto.WordImportDTO;
+import com.example.demobase.model.Dificultad;
 import com.example.demobase.model.Word;
 import com.example.demobase.repository.WordRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,9 +12,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +30,12 @@ class WordServiceTest {
     @Mock
     private WordRepository wordRepository;
 
+    @Mock
+    private WordPool wordPool;
+
+    @Mock
+    private WordImporter wordImporter;
+
     @InjectMocks
     private WordService wordService;
 
@@ -31,19 +45,19 @@ class WordServiceTest {
 
     @BeforeEach
     void setUp() {
-        word1 = new Word(1L, "PROGRAMADOR", true);
-        word2 = new Word(2L, "COMPUTADORA", false);
-        word3 = new Word(3L, "TECNOLOGIA", false);
+        word1 = new Word(1L, "PROGRAMADOR");
+        word2 = new Word(2L, "COMPUTADORA");
+        word3 = new Word(3L, "TECNOLOGIA");
     }
 
     @Test
     void testGetAllWords() {
         // Given
         List<Word> words = Arrays.asList(word1, word2, word3);
-        when(wordRepository.findAllOrdered()).thenReturn(words);
+        when(wordRepository.findByIdGreaterThanOrderById(0L, Limit.of(101))).thenReturn(words);
 
         // When
-        List<WordDTO> result = wordService.getAllWords();
+        List<WordDTO> result = wordService.getAllWords(null, 100).getElementos();
 
         // Then
         assertNotNull(result);
@@ -51,33 +65,83 @@ class WordServiceTest {
 
         assertEquals(1L, result.get(0).getId());
         assertEquals("PROGRAMADOR", result.get(0).getPalabra());
-        assertTrue(result.get(0).getUtilizada());
 
         assertEquals(2L, result.get(1).getId());
         assertEquals("COMPUTADORA", result.get(1).getPalabra());
-        assertFalse(result.get(1).getUtilizada());
 
         assertEquals(3L, result.get(2).getId());
         assertEquals("TECNOLOGIA", result.get(2).getPalabra());
-        assertFalse(result.get(2).getUtilizada());
 
-        verify(wordRepository, times(1)).findAllOrdered();
+        verify(wordRepository, times(1)).findByIdGreaterThanOrderById(0L, Limit.of(101));
+    }
+
+    @Test
+    void testGetAllWords_AfterCursor() {
+        // Given
+        when(wordRepository.findByIdGreaterThanOrderById(1L, Limit.of(2))).thenReturn(Arrays.asList(word2, word3));
+
+        // When
+        PageDTO<WordDTO> result = wordService.getAllWords(1L, 1);
+
+        // Then - Hay más palabras: el cursor es el id de la última devuelta
+        assertEquals(1, result.getElementos().size());
+        assertEquals("COMPUTADORA", result.getElementos().get(0).getPalabra());
+        assertEquals("2", result.getSiguiente());
     }
 
     @Test
     void testGetAllWords_EmptyList() {
         // Given
-        when(wordRepository.findAllOrdered()).thenReturn(Arrays.asList());
+        when(wordRepository.findByIdGreaterThanOrderById(0L, Limit.of(101))).thenReturn(Arrays.asList());
 
         // When
-        List<WordDTO> result = wordService.getAllWords();
+        PageDTO<WordDTO> pagina = wordService.getAllWords(null, 100);
+        List<WordDTO> result = pagina.getElementos();
 
         // Then
         assertNotNull(result);
         assertEquals(0, result.size());
         assertTrue(result.isEmpty());
+        assertNull(pagina.getSiguiente());
 
-        verify(wordRepository, times(1)).findAllOrdered();
+        verify(wordRepository, times(1)).findByIdGreaterThanOrderById(0L, Limit.of(101));
     }
-}
 
+    @Test
+    void testReloadWordPool() {
+        // Given
+        when(wordPool.reload()).thenReturn(2);
+
+        // When
+        int result = wordService.reloadWordPool();
+
+        // Then
+        assertEquals(2, result);
+        verify(wordPool, times(1)).reload();
+    }
+
+    @Test
+    void testImportWords() throws Exception {
+        // Given
+        InputStream diccionario = new ByteArrayInputStream("ZORRO\n".getBytes(StandardCharsets.UTF_8));
+        WordImportDTO resumen = new WordImportDTO(1L, 1L, 0L, 0L, 5L);
+        when(wordImporter.importWords(diccionario)).thenReturn(resumen);
+
+        // When
+        WordImportDTO result = wordService.importWords(diccionario);
+
+        // Then
+        assertSame(resumen, result);
+        verify(wordImporter, times(1)).importWords(diccionario);
+    }
+
+    @Test
+    void testGetAvailableWords() {
+        // Given
+        Map<Dificultad, Map<Integer, Integer>> disponibles = Map.of(Dificultad.FACIL, Map.of(10, 2));
+        when(wordPool.availableByDifficulty()).thenReturn(disponibles);
+
+        // When & Then
+        assertEquals(disponibles, wordService.getAvailableWords());
+    }
+}
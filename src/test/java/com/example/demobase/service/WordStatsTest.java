@@ -0,0 +1,57 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.WordDTO;
+import com.example.demobase.model.LetterMask;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordStatsTest {
+
+    @Test
+    void testCompute() {
+        // Given - La A está en las tres palabras, la Z en una sola
+        List<WordDTO> palabras = List.of(
+                new WordDTO(1L, "CASA"),
+                new WordDTO(2L, "ARBOL"),
+                new WordDTO(3L, "ZAPATO"));
+
+        // When
+        List<WordStats> stats = WordStats.compute(palabras);
+
+        // Then - Mismo orden que la entrada
+        assertEquals(List.of(1L, 2L, 3L), stats.stream().map(WordStats::id).toList());
+        WordStats casa = stats.get(0);
+        assertEquals(4, casa.largo());
+        assertEquals(3, casa.letrasDistintas());
+        WordStats zapato = stats.get(2);
+        assertEquals(6, zapato.largo());
+        assertEquals(5, zapato.letrasDistintas());
+        assertTrue(zapato.rareza() > casa.rareza());
+    }
+
+    @Test
+    void testLetterRarity() {
+        // Given - Cuatro palabras: la A en todas, la B en una, la C en ninguna
+        int[] mascaras = {LetterMask.of("A"), LetterMask.of("A"), LetterMask.of("A"), LetterMask.of("AB")};
+
+        // When
+        double[] rarezas = WordStats.letterRarity(mascaras);
+
+        // Then
+        assertEquals(LetterMask.ALFABETO.length(), rarezas.length);
+        assertEquals(0.0, rarezas[LetterMask.indexOf('A')], 1e-9);
+        assertEquals(Math.log(5.0 / 2) / Math.log(2), rarezas[LetterMask.indexOf('B')], 1e-9);
+        assertTrue(rarezas[LetterMask.indexOf('C')] > rarezas[LetterMask.indexOf('B')]);
+    }
+
+    @Test
+    void testPuntaje_RepeatedLettersAreEasier() {
+        WordStats repetida = new WordStats(1L, 10, 2, 3.0);
+        WordStats distintas = new WordStats(2L, 10, 8, 3.0);
+
+        assertTrue(repetida.puntaje() < distintas.puntaje());
+    }
+}